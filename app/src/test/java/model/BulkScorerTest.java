@@ -0,0 +1,71 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: BulkScorerTest.java
+ * PURPOSE: This class tests the BulkScorer against the scalar reference,
+ * FeedbackScorer.score, for every guess of the dictionary against every
+ * answer of the dictionary. The build runs it twice, once with the Vector
+ * API and once without, and the wordle.expectedScorer property says which
+ * scorer BulkScorer.best() should be in each run.
+ */
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.FileNotFoundException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class BulkScorerTest {
+	private static int[] packed;
+	private static AnswerPlanes answers;
+
+	/**
+	 * This method packs the words of the dictionary.
+	 * @throws FileNotFoundException if the dictionary file is not found.
+	 */
+	@BeforeAll
+	public static void setUp() throws FileNotFoundException {
+		Dictionary dictionary = DictionaryRegistry.getDefault();
+		packed = new int[dictionary.size()];
+		for (int i = 0; i < packed.length; i++) {
+			packed[i] = dictionary.packedWordAt(i);
+		}
+		answers = AnswerPlanes.of(packed);
+	}
+
+	@Test
+	public void bestIsTheExpectedScorer() {
+		String expected = System.getProperty("wordle.expectedScorer", "");
+		String name = BulkScorer.best().name();
+		assertTrue(name.startsWith(expected), "best() is " + name + ", expected " + expected);
+	}
+
+	@Test
+	public void bestMatchesTheReference() {
+		assertMatchesReference(BulkScorer.best());
+	}
+
+	@Test
+	public void scalarMatchesTheReference() {
+		assertMatchesReference(BulkScorer.scalar());
+	}
+
+	/**
+	 * This method checks every code of a scorer, failing on the first one
+	 * that differs from FeedbackScorer.score.
+	 * @param scorer the scorer to check
+	 */
+	private static void assertMatchesReference(BulkScorer scorer) {
+		byte[] codes = new byte[packed.length];
+		for (int guess = 0; guess < packed.length; guess++) {
+			scorer.score(packed[guess], answers, codes);
+			for (int answer = 0; answer < packed.length; answer++) {
+				int expected = FeedbackScorer.score(packed[guess], packed[answer]);
+				if ((codes[answer] & 0xFF) != expected) {
+					fail(scorer.name() + ": " + PackedWord.decode(packed[guess]) + " against "
+							+ PackedWord.decode(packed[answer]) + " gave " + (codes[answer] & 0xFF) + ", expected " + expected);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package benchmark;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: DictionaryBenchmarks.java
+ * PURPOSE: This class is the JMH benchmark of the paths whose cost
+ * depends on the dictionary: loading it from text and from its compiled
+ * form, making a WordleModel, checking a word against it (isValidWord)
+ * and against its DAWG, querying it, scoring a guess (updateIndices) and
+ * scoring a guess against every word with the BulkScorer. Each runs once
+ * for every dictionary size, see SizedDictionary. Run with -prof gc for
+ * the bytes allocated by each.
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import model.AnswerPlanes;
+import model.BulkScorer;
+import model.Dawg;
+import model.Dictionary;
+import model.DictionaryCompiler;
+import model.FeedbackScorer;
+import model.PackedWord;
+import model.WordleModel;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DictionaryBenchmarks {
+	private int size;
+	private Dictionary dictionary;
+	private Dawg dawg;
+	private AnswerPlanes answers;
+	private final BulkScorer bulkScorer = BulkScorer.best();
+	private byte[] codes;
+	private File textFile;
+	private File compiledFile;
+	private int[] packed;
+	private String[] lookups;
+	private int next;
+
+	/**
+	 * This method makes the dictionary of the size and writes it to a
+	 * text file and a compiled file for the load benchmarks.
+	 * @param sized the dictionary of the size
+	 * @throws IOException if the files cannot be written.
+	 */
+	@Setup(Level.Trial)
+	public void setUp(SizedDictionary sized) throws IOException {
+		dictionary = sized.get();
+		size = dictionary.size();
+		textFile = File.createTempFile("wordle-bench", ".txt");
+		compiledFile = Dictionary.compiledFileFor(textFile);
+		try (PrintWriter out = new PrintWriter(textFile, "US-ASCII")) {
+			for (int i = 0; i < size; i++) {
+				out.println(dictionary.wordAt(i).toLowerCase());
+			}
+		}
+		DictionaryCompiler.compile(textFile, compiledFile);
+		packed = new int[size];
+		lookups = new String[size];
+		Random random = new Random(42);
+		for (int i = 0; i < size; i++) {
+			packed[i] = dictionary.packedWordAt(i);
+			// half of the lookups miss, as rejected guesses do
+			lookups[i] = i % 2 == 0 ? dictionary.wordAt(i) : PackedWord.decode(random.nextInt(PackedWord.WORD_SPACE));
+		}
+		dawg = dictionary.dawg();
+		answers = AnswerPlanes.of(packed);
+		codes = new byte[size];
+	}
+
+	/**
+	 * This method deletes the dictionary files.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		textFile.delete();
+		compiledFile.delete();
+	}
+
+	@Benchmark
+	public Dictionary loadText() throws IOException {
+		return Dictionary.fromTextFile(textFile);
+	}
+
+	@Benchmark
+	public Dictionary loadCompiled() throws IOException {
+		return Dictionary.fromCompiledFile(compiledFile);
+	}
+
+	@Benchmark
+	public WordleModel newModel() {
+		return new WordleModel(dictionary);
+	}
+
+	@Benchmark
+	public boolean isValidWord() {
+		return dictionary.contains(lookups[nextIndex()]);
+	}
+
+	@Benchmark
+	public boolean dawgContains() {
+		return dawg.contains(lookups[nextIndex()]);
+	}
+
+	@Benchmark
+	public int query() {
+		return dictionary.query().pattern("?R??E").contains('A').excludes("ST").notAt(1, 'A').count();
+	}
+
+	@Benchmark
+	public int updateIndices() {
+		int i = nextIndex();
+		return FeedbackScorer.score(packed[i], packed[(i * 7 + 3) % size]);
+	}
+
+	@Benchmark
+	public byte[] bulkScore() {
+		bulkScorer.score(packed[nextIndex()], answers, codes);
+		return codes;
+	}
+
+	/**
+	 * This method cycles through the words, so every call has other input.
+	 */
+	private int nextIndex() {
+		int i = next;
+		next = i + 1 == size ? 0 : i + 1;
+		return i;
+	}
+}
@@ -0,0 +1,109 @@
+package benchmark;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GuessBenchmarks.java
+ * PURPOSE: This class is the JMH benchmark of making guesses, for every
+ * dictionary size. makeGuess plays the six guesses of a new game, each
+ * one narrowing the possible answers; the game is made before the
+ * measured call, but -prof gc counts its bytes too, so newModel of
+ * DictionaryBenchmarks should be taken off its allocation per guess
+ * divided by six. The rejected guesses need no new game, they never
+ * change it.
+ */
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import exception.invalidGuessException;
+import model.Dictionary;
+import model.WordleModel;
+import utilities.GUESS_RESULT;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GuessBenchmarks {
+	private static final int GUESSES_PER_GAME = 6;
+	private static final String[] INVALID = {"CRAN", "CR4NE", "QQQQQ"};
+
+	private Dictionary dictionary;
+	private String answer;
+	private String[] guesses;
+	private int nextGuess;
+	private WordleModel rejecting;
+	private int nextInvalid;
+
+	/**
+	 * This method makes the dictionary of the size. The answer is its
+	 * first word and is never guessed, so every game takes six guesses.
+	 * @param sized the dictionary of the size
+	 */
+	@Setup(Level.Trial)
+	public void setUp(SizedDictionary sized) {
+		dictionary = sized.get();
+		int size = dictionary.size();
+		answer = dictionary.wordAt(0);
+		guesses = new String[size - 1];
+		for (int i = 1; i < size; i++) {
+			guesses[i - 1] = dictionary.wordAt(i);
+		}
+		rejecting = new WordleModel(dictionary, answer);
+	}
+
+	/**
+	 * This class is the new game each call of makeGuess plays. It is a
+	 * state of its own so the other benchmarks do not make games.
+	 */
+	@State(Scope.Thread)
+	public static class Game {
+		private WordleModel model;
+
+		/**
+		 * This method starts the game the next makeGuess plays.
+		 * @param benchmarks the benchmark state with the dictionary
+		 */
+		@Setup(Level.Invocation)
+		public void newGame(GuessBenchmarks benchmarks) {
+			model = new WordleModel(benchmarks.dictionary, benchmarks.answer);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(GUESSES_PER_GAME)
+	public WordleModel makeGuess(Game game) throws invalidGuessException {
+		for (int guessNumber = 0; guessNumber < GUESSES_PER_GAME; guessNumber++) {
+			game.model.makeGuess(guessNumber, guesses[nextGuess]);
+			nextGuess = nextGuess + 1 == guesses.length ? 0 : nextGuess + 1;
+		}
+		return game.model;
+	}
+
+	@Benchmark
+	public GUESS_RESULT tryGuessRejected() {
+		nextInvalid = nextInvalid + 1 == INVALID.length ? 0 : nextInvalid + 1;
+		return rejecting.tryGuess(0, INVALID[nextInvalid]);
+	}
+
+	@Benchmark
+	public boolean makeGuessRejected() {
+		nextInvalid = nextInvalid + 1 == INVALID.length ? 0 : nextInvalid + 1;
+		try {
+			rejecting.makeGuess(0, INVALID[nextInvalid]);
+			return true;
+		} catch (invalidGuessException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package benchmark;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: SizedDictionary.java
+ * PURPOSE: This class is the JMH state of a dictionary of a chosen size,
+ * shared by the benchmarks whose cost depends on the dictionary. It is
+ * made from the first words of the real dictionary, and sizes beyond it
+ * are filled with random made up words so the scaling of each path can be
+ * seen as the word list grows. The size is the size parameter:
+ * -p size=1000,100000.
+ */
+import java.io.FileNotFoundException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import model.Dictionary;
+import model.DictionaryRegistry;
+import model.PackedWord;
+
+@State(Scope.Benchmark)
+public class SizedDictionary {
+	@Param({"1000", "12947", "100000"})
+	public int size;
+
+	private Dictionary dictionary;
+
+	/**
+	 * This method makes the dictionary of the size.
+	 * @throws FileNotFoundException if the real dictionary is not found.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws FileNotFoundException {
+		dictionary = resize(DictionaryRegistry.getDefault(), size);
+	}
+
+	/**
+	 * This method returns the dictionary of the size.
+	 * @return the dictionary.
+	 */
+	public Dictionary get() {
+		return dictionary;
+	}
+
+	/**
+	 * This method makes a dictionary of the given size from the first
+	 * words of a dictionary, adding random made up words when it is too
+	 * small.
+	 * @param full the dictionary to take words from
+	 * @param size the size wanted
+	 * @return the new dictionary.
+	 */
+	private static Dictionary resize(Dictionary full, int size) {
+		if (size > PackedWord.WORD_SPACE / 2) {
+			throw new IllegalArgumentException("Dictionary size " + size + " is too large.");
+		}
+		int[] packed = new int[size];
+		Set<Integer> seen = new HashSet<Integer>();
+		int count = 0;
+		for (int i = 0; i < full.size() && count < size; i++) {
+			if (seen.add(full.packedWordAt(i))) {
+				packed[count++] = full.packedWordAt(i);
+			}
+		}
+		Random random = new Random(size);
+		while (count < size) {
+			int word = random.nextInt(PackedWord.WORD_SPACE);
+			if (seen.add(word)) {
+				packed[count++] = word;
+			}
+		}
+		return Dictionary.of(packed);
+	}
+}
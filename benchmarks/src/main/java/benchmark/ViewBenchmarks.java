@@ -0,0 +1,91 @@
+package benchmark;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: ViewBenchmarks.java
+ * PURPOSE: This class is the JMH benchmark of drawing the text view of a
+ * game that has used four of its guesses, as the Strings of
+ * WordleTextView.printGameUpdate and printGuessedCharUpdate and through
+ * the TextRenderer. Drawing does not depend on the dictionary size, so
+ * the real dictionary is used.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import model.DictionaryRegistry;
+import model.WordleModel;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+import view.TextRenderer;
+import view.WordleTextView;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ViewBenchmarks {
+	private static final String[] GUESSES = {"CRANE", "MOIST", "BULKY", "SHELF"};
+
+	private Guess[] progress;
+	private INDEX_RESULT[] guessedCharacters;
+	private final TextRenderer renderer = new TextRenderer();
+	private final WritableByteChannel discard = new WritableByteChannel() {
+		@Override
+		public int write(ByteBuffer source) {
+			int written = source.remaining();
+			source.position(source.limit());
+			return written;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+	};
+
+	/**
+	 * This method plays the first four guesses of a game.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		WordleModel model = new WordleModel(DictionaryRegistry.getDefault(), "PIOUS");
+		for (int i = 0; i < GUESSES.length; i++) {
+			model.makeGuess(i, GUESSES[i]);
+		}
+		progress = model.getProgress();
+		guessedCharacters = model.getGuessedCharacters();
+	}
+
+	@Benchmark
+	public String printGameUpdate() {
+		return WordleTextView.printGameUpdate(progress, GUESSES[3]);
+	}
+
+	@Benchmark
+	public String printGuessedCharUpdate() {
+		return WordleTextView.printGuessedCharUpdate(guessedCharacters);
+	}
+
+	@Benchmark
+	public TextRenderer textRenderer() throws IOException {
+		renderer.render(progress, guessedCharacters).flushTo(discard);
+		return renderer;
+	}
+}
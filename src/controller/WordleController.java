@@ -1,11 +1,28 @@
 package controller;
+import utilities.GUESS_RESULT;
 import utilities.Guess;
 import utilities.INDEX_RESULT;
 
-import java.io.FileNotFoundException;
-import java.util.Observer;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import event.Delivery;
+import event.GameEventBus;
+import event.GameEventListener;
 import exception.invalidGuessException;
+import event.GameOver;
+import history.GameLog;
+import metrics.GameMetrics;
+import history.GameRecorder;
+import history.PlayerStatistics;
+import history.StatisticsStore;
+import model.Dawg;
+import model.Dictionary;
+import model.DictionaryProvider;
+import model.DictionaryRegistry;
 import model.WordleModel;
 /**
  * @author Amimul Ehsan Zoha
@@ -15,38 +32,169 @@ import model.WordleModel;
  * the input from the user that comes through the view. It abstracts the
  * view class from the model. The view does not communicate directly with the
  * model but it communicates directly with the controller.
+ * The game itself is only made at the first guess, so a view can be shown
+ * and typed into while the dictionary is still loading in the background;
+ * only that first guess waits for the load.
  */
 
 
 public class WordleController {
 	
 	private WordleModel model;
-	private String guessString;
 	private int guessNumber;
+	private boolean hardMode;
+	// the listeners subscribe here, the model publishes here once it is made
+	private final GameEventBus events = new GameEventBus();
+	private CompletableFuture<DictionaryProvider> dictionaryLoad;
+	// true if the load is the one of the shared dictionary, which can be
+	// started again when it failed
+	private final boolean sharedDictionary;
+	private volatile long dictionaryWaitNanos;
+	private static final int MAX_GUESSES = 6;
+	private static final int TOTAL_LETTERS = 26;
+	private volatile PlayerStatistics statistics;
+	private volatile long lastGuessLatencyNanos;
+	private volatile long maxGuessLatencyNanos;
+	private long totalGuessLatencyNanos;
+	private long submittedGuesses;
+	// guesses submitted from a UI run here, the threads never keep the JVM alive
+	private static final ExecutorService GUESS_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "wordle-guess");
+		thread.setDaemon(true);
+		return thread;
+	});
 	/**
-	 * This is a constructor of the controller class.
+	 * This is a constructor of the controller class. The shared dictionary
+	 * is loaded in the background if nobody has started loading it yet.
 	 */
 	public WordleController () {
-		// error handling with try and catch for invalid guesses.
-		//Custom exception class has been created
-		try {
-			this.model = new WordleModel();
-			
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		guessString="";
+		this(DictionaryRegistry.loadInBackground(), true);
+	} 
+	/**
+	 * This is a constructor of the controller class for a game that uses
+	 * the latest dictionary of a provider that may still be loading.
+	 * @param dictionaryLoad the load of the dictionary provider
+	 */
+	public WordleController (CompletableFuture<DictionaryProvider> dictionaryLoad) {
+		this(dictionaryLoad, false);
+	} 
+	
+	private WordleController (CompletableFuture<DictionaryProvider> dictionaryLoad, boolean sharedDictionary) {
+		this.dictionaryLoad = dictionaryLoad;
+		this.sharedDictionary = sharedDictionary;
 		guessNumber = 0;	
 	} 
 	/**
-	 * This method lets the model,which is the observable of the 
-	 * observer-observable design pattern add a observer which will 
-	 * observe it. We have two observers, the text ui and the GUI ui
-	 * @param viewObj which a observer object like GUI 
+	 * This method returns the game, making it the first time it is needed.
+	 * That waits for the dictionary if it is still loading.
+	 * @return the model of the game.
+	 * @throws IllegalStateException if the dictionary could not be loaded.
+	 */
+	private WordleModel model() {
+		synchronized (this) {
+			if (model != null) {
+				return model;
+			}
+		}
+		// the wait is outside the lock, so the view can still ask about
+		// the game while the first guess waits for the dictionary
+		long start = System.nanoTime();
+		Dictionary dictionary;
+		try {
+			dictionary = dictionaryLoad().join().current();
+		} catch (CompletionException e) {
+			throw new IllegalStateException("The dictionary could not be loaded: " 
+					+ e.getCause().getMessage(), e.getCause());
+		}
+		synchronized (this) {
+			if (model == null) {
+				dictionaryWaitNanos = System.nanoTime() - start;
+				model = new WordleModel(dictionary, events);
+				model.setHardMode(hardMode);
+				// the game is written to the game log when one is configured, see
+				// history.GameLog
+				try {
+					GameLog log = GameLog.shared();
+					if (log != null) {
+						GameRecorder.attach(log, model);
+					}
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+			return model;
+		}
+	}
+	/**
+	 * This method returns how long the first guess waited for the 
+	 * dictionary to load.
+	 * @return the wait in nanoseconds, 0 if there was no wait or no guess.
+	 */
+	public long getDictionaryWaitNanos() {
+		return dictionaryWaitNanos;
+	}
+	/**
+	 * This method lets a view listen to the events of the model. The 
+	 * listener is called on the thread that makes the guess. We have two 
+	 * listeners, the text ui and the GUI ui
+	 * @param viewObj which a listener object like GUI 
+	 */
+	public void addListener(GameEventListener viewObj) {
+		events.subscribe(viewObj);
+	}
+	/**
+	 * This method lets a listener listen to the events of the model with
+	 * the given delivery.
+	 * @param listener the listener
+	 * @param delivery how the events are handed to the listener
+	 * @return the subscription, which can be cancelled.
+	 */
+	public GameEventBus.Subscription addListener(GameEventListener listener, Delivery delivery) {
+		return events.subscribe(listener, delivery);
+	}
+	/**
+	 * This method adds the game to the statistics of the player when it 
+	 * ends, so the view can show them right away with getStatistics.
+	 * @param store the statistics of the player
+	 */
+	public void trackStatistics(StatisticsStore store) {
+		statistics = store.current();
+		events.subscribe(event -> {
+			if (event instanceof GameOver) {
+				GameOver over = (GameOver) event;
+				try {
+					statistics = store.record(over.isWon(), over.getGuessCount());
+				} catch (IOException e) {
+					statistics = store.current();
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+	/**
+	 * This method adds the game to the statistics of the player kept in
+	 * the default file, see StatisticsStore.getDefault.
+	 * @return true if the statistics are tracked, false if the file 
+	 * cannot be opened.
+	 */
+	public boolean trackStatistics() {
+		StatisticsStore store;
+		try {
+			store = StatisticsStore.getDefault();
+		} catch (IOException e) {
+			System.out.println("Statistics are not available: " + e.getMessage());
+			return false;
+		}
+		trackStatistics(store);
+		return true;
+	}
+	/**
+	 * This method returns the statistics of the player, with this game 
+	 * once it is over.
+	 * @return the statistics, or null if they are not tracked.
 	 */
-	public void addObserver(Observer viewObj) {
-		model.addObserver(viewObj);
+	public PlayerStatistics getStatistics() {
+		return statistics;
 	}
 	/**
 	 * This method returns a boolean representing if the game 
@@ -54,12 +202,31 @@ public class WordleController {
 	 * @return a boolean value which is true if game is over
 	 * and false if the game is not over.
 	 */
-	public boolean isGameOver() {
-		if (guessNumber == 6) { return true; } 
-		if(getAnswer().toUpperCase().equals(guessString.toUpperCase())) { 
-			return true;
-		}
-		return false;
+	public synchronized boolean isGameOver() {
+		return model != null && model.isGameOver();
+	}
+	/**
+	 * This method returns the progress of the game by calling a method 
+	 * from the model class.
+	 * @return an array of guess objects, null for guesses not made yet.
+	 */
+	public synchronized Guess[] getProgress() {
+		return model == null ? new Guess[MAX_GUESSES] : model.getProgress();
+	}
+	/**
+	 * This method returns the result of every letter guessed so far by
+	 * calling a method from the model class.
+	 * @return an array of 26 INDEX_RESULTs, null for unguessed letters.
+	 */
+	public synchronized INDEX_RESULT[] getGuessedCharacters() {
+		return model == null ? new INDEX_RESULT[TOTAL_LETTERS] : model.getGuessedCharacters();
+	}
+	/**
+	 * This method returns the number of guesses made so far.
+	 * @return the number of valid guesses made.
+	 */
+	public synchronized int getGuessNumber() {
+		return guessNumber;
 	}
 	/**
 	 * This method returns the answer by calling a method from the model 
@@ -67,7 +234,7 @@ public class WordleController {
 	 * @return a string which is the answer word.
 	 */
 	public String getAnswer() {
-		return model.getAnswer();
+		return model().getAnswer();
 	}
 	/**
 	 * This method is called when the user makes a guess in the game
@@ -79,9 +246,190 @@ public class WordleController {
 	 * @throws invalidGuessException if an invalid guess is made.
 	 */
 	public void makeGuess(String guess) throws  invalidGuessException{
-		guessString = guess;
-		model.makeGuess(guessNumber,guess);
-		guessNumber +=1;
+		WordleModel game = model();
+		synchronized (this) {
+			game.makeGuess(guessNumber,guess);
+			guessNumber +=1;
+		}
+	}
+	/**
+	 * This method returns the empty prefix, the start of a guess being 
+	 * typed. See extendPrefix.
+	 * @return the empty prefix.
+	 */
+	public Prefix startPrefix() {
+		return Prefix.walk(loadedDawg(), "");
+	}
+	/**
+	 * This method adds a typed letter to a prefix, so a view can tell at
+	 * every key if some word still starts with what was typed. It takes 
+	 * the same short time however large the dictionary is. A prefix typed
+	 * while the dictionary was loading, or before it was reloaded, is 
+	 * checked again letter by letter on the latest one.
+	 * @param prefix the prefix typed before
+	 * @param letter the letter typed
+	 * @return the longer prefix.
+	 */
+	public Prefix extendPrefix(Prefix prefix, char letter) {
+		Dawg dawg = loadedDawg();
+		String letters = prefix.letters + letter;
+		if (dawg == null || dawg != prefix.dawg) {
+			return Prefix.walk(dawg, letters);
+		}
+		return new Prefix(dawg, dawg.step(prefix.node, letter), letters);
+	}
+	/**
+	 * This class is a prefix of a guess being typed with its node in the
+	 * DAWG of the dictionary. The node only has a meaning in the DAWG it
+	 * was found in, so both are kept together, and a prefix from another 
+	 * DAWG is walked again instead of stepped.
+	 */
+	public static final class Prefix {
+		private final Dawg dawg;
+		private final int node;
+		private final String letters;
+
+		private Prefix(Dawg dawg, int node, String letters) {
+			this.dawg = dawg;
+			this.node = node;
+			this.letters = letters;
+		}
+
+		private static Prefix walk(Dawg dawg, String letters) {
+			return new Prefix(dawg, dawg == null ? Dawg.DEAD : dawg.walk(letters), letters);
+		}
+
+		/**
+		 * This method returns if no valid word starts with the prefix.
+		 * @return true for a dead prefix, false if some word starts with
+		 * it or the dictionary is still loading.
+		 */
+		public boolean isDead() {
+			return dawg != null && node == Dawg.DEAD;
+		}
+	}
+	/**
+	 * This method returns the DAWG of the dictionary of the game, or of the
+	 * latest dictionary before the game is made.
+	 * @return the DAWG, or null if the dictionary is still loading.
+	 */
+	private Dawg loadedDawg() {
+		WordleModel game;
+		synchronized (this) {
+			game = model;
+		}
+		if (game != null) {
+			return game.getDictionary().dawg();
+		}
+		CompletableFuture<DictionaryProvider> load = dictionaryLoad();
+		if (!load.isDone() || load.isCompletedExceptionally()) {
+			return null;
+		}
+		return load.join().current().dawg();
+	}
+	/**
+	 * This method returns the load of the dictionary. A failed load of 
+	 * the shared dictionary is started again, so a guess after the file 
+	 * was put back does not fail.
+	 * @return the load of the dictionary provider.
+	 */
+	private synchronized CompletableFuture<DictionaryProvider> dictionaryLoad() {
+		if (sharedDictionary && dictionaryLoad.isCompletedExceptionally()) {
+			dictionaryLoad = DictionaryRegistry.loadInBackground();
+		}
+		return dictionaryLoad;
+	}
+	/**
+	 * This method turns hard mode of the game on or off, see 
+	 * WordleModel.setHardMode.
+	 * @param hardMode true for hard mode
+	 */
+	public synchronized void setHardMode(boolean hardMode) {
+		this.hardMode = hardMode;
+		if (model != null) {
+			model.setHardMode(hardMode);
+		}
+	}
+	/**
+	 * This method returns if the game is in hard mode.
+	 * @return true in hard mode.
+	 */
+	public synchronized boolean isHardMode() {
+		return hardMode;
+	}
+	/**
+	 * This method makes a guess like makeGuess, but returns why an invalid
+	 * guess was rejected instead of throwing, see WordleModel.tryGuess.
+	 * @param guess a String which is user guess
+	 * @return OK if the guess was made, otherwise why it was rejected.
+	 */
+	public GUESS_RESULT tryGuess(String guess) {
+		WordleModel game = model();
+		synchronized (this) {
+			GUESS_RESULT result = game.tryGuess(guessNumber, guess);
+			if (result == GUESS_RESULT.OK) {
+				guessNumber += 1;
+			}
+			return result;
+		}
+	}
+	/**
+	 * This method makes a guess like makeGuess but on a background thread,
+	 * so that a UI thread never waits on the dictionary, the scoring or the 
+	 * listeners. The future completes with the evaluated guess, or 
+	 * exceptionally with the invalidGuessException of an invalid guess. The
+	 * time from the call until the guess is done is recorded, see
+	 * getLastGuessLatencyNanos.
+	 * @param guess a String which is user guess
+	 * @return a future of the evaluated guess.
+	 */
+	public CompletableFuture<Guess> submitGuess(String guess) {
+		long submitted = System.nanoTime();
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				WordleModel game = model();
+				synchronized (this) {
+					makeGuess(guess);
+					return game.getProgress()[guessNumber - 1];
+				}
+			} catch (invalidGuessException e) {
+				throw new CompletionException(e);
+			} finally {
+				recordLatency(System.nanoTime() - submitted);
+			}
+		}, GUESS_EXECUTOR);
+	}
+	/**
+	 * This method returns how long the last submitted guess took from the
+	 * call to submitGuess until it was done.
+	 * @return the latency in nanoseconds, 0 before the first guess.
+	 */
+	public long getLastGuessLatencyNanos() {
+		return lastGuessLatencyNanos;
+	}
+	/**
+	 * This method returns the longest latency of a submitted guess.
+	 * @return the latency in nanoseconds, 0 before the first guess.
+	 */
+	public long getMaxGuessLatencyNanos() {
+		return maxGuessLatencyNanos;
+	}
+	/**
+	 * This method returns the average latency of the submitted guesses.
+	 * @return the latency in nanoseconds, 0 before the first guess.
+	 */
+	public synchronized long getAverageGuessLatencyNanos() {
+		return submittedGuesses == 0 ? 0 : totalGuessLatencyNanos / submittedGuesses;
+	}
+	
+	private synchronized void recordLatency(long nanos) {
+		if (GameMetrics.ENABLED) {
+			GameMetrics.get().submitted(nanos);
+		}
+		lastGuessLatencyNanos = nanos;
+		maxGuessLatencyNanos = Math.max(maxGuessLatencyNanos, nanos);
+		totalGuessLatencyNanos += nanos;
+		submittedGuesses += 1;
 	}
 
 }
@@ -0,0 +1,16 @@
+package event;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: Delivery.java
+ * PURPOSE: This enum says how a GameEventBus hands events to a listener.
+ * 	1. SAME_THREAD calls the listener on the thread that published the
+ * 	   event, before publish returns.
+ * 	2. ASYNC puts the event on a bounded queue of the listener which a 
+ * 	   shared pool drains in batches. Publishing never waits for
+ * 	   the listener; when its queue is full the event is dropped and
+ * 	   counted instead.
+ */
+public enum Delivery {
+	SAME_THREAD,
+	ASYNC
+}
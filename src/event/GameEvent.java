@@ -0,0 +1,28 @@
+package event;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameEvent.java
+ * PURPOSE: This class is the base of the events a WordleModel publishes
+ * on its GameEventBus. An event carries only what changed, listeners that
+ * need the whole state can still ask the controller for it.
+ */
+public abstract class GameEvent {
+	private final int guessNumber;
+
+	/**
+	 * GameEvent constructor.
+	 * @param guessNumber the guess number the event belongs to
+	 */
+	protected GameEvent(int guessNumber) {
+		this.guessNumber = guessNumber;
+	}
+
+	/**
+	 * This method returns the guess number the event belongs to, counting
+	 * from 0.
+	 * @return the guess number.
+	 */
+	public int getGuessNumber() {
+		return guessNumber;
+	}
+}
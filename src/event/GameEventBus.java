@@ -0,0 +1,167 @@
+package event;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameEventBus.java
+ * PURPOSE: This class passes the events of a game to its listeners. The
+ * list of subscribers is copied on write, so publishing an event never
+ * takes a lock. Each listener chooses its Delivery: on the publishing
+ * thread, or through a bounded queue drained in batches on a shared pool
+ * so that a slow listener never holds up a guess. A queue is only drained
+ * by one pool thread at a time, so its listener sees events in order, and
+ * an idle listener holds no thread, so a bus that is dropped with its 
+ * game leaves nothing running.
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class GameEventBus {
+	/** The size of the queue of each asynchronous listener. */
+	public static final int QUEUE_CAPACITY = 1024;
+	/** The largest batch handed to an asynchronous listener at once. */
+	public static final int MAX_BATCH = 64;
+
+	// drains the queues of the asynchronous listeners of every bus, its
+	// idle threads end after a minute and never keep the JVM alive
+	private static final ExecutorService DELIVERY_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "wordle-event");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+	/**
+	 * This method adds a listener that is called on the publishing thread.
+	 * @param listener the listener
+	 * @return the subscription, which can be cancelled.
+	 */
+	public Subscription subscribe(GameEventListener listener) {
+		return subscribe(listener, Delivery.SAME_THREAD);
+	}
+
+	/**
+	 * This method adds a listener.
+	 * @param listener the listener
+	 * @param delivery how events are handed to the listener
+	 * @return the subscription, which can be cancelled.
+	 */
+	public Subscription subscribe(GameEventListener listener, Delivery delivery) {
+		Subscription subscription = delivery == Delivery.ASYNC 
+				? new AsyncSubscription(listener) : new Subscription(listener);
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	/**
+	 * This method returns if anyone listens, so a publisher can skip 
+	 * making events nobody will see.
+	 * @return true if there is at least one listener.
+	 */
+	public boolean hasSubscribers() {
+		return !subscriptions.isEmpty();
+	}
+
+	/**
+	 * This method hands an event to every listener.
+	 * @param event the event
+	 */
+	public void publish(GameEvent event) {
+		for (Subscription subscription : subscriptions) {
+			subscription.deliver(event);
+		}
+	}
+
+	/**
+	 * This class is a listener added to the bus.
+	 */
+	public class Subscription {
+		protected final GameEventListener listener;
+
+		private Subscription(GameEventListener listener) {
+			this.listener = listener;
+		}
+
+		void deliver(GameEvent event) {
+			listener.onEvent(event);
+		}
+
+		/**
+		 * This method removes the listener from the bus.
+		 */
+		public void cancel() {
+			subscriptions.remove(this);
+		}
+
+		/**
+		 * This method returns the number of events the listener missed
+		 * because its queue was full.
+		 * @return the number of dropped events.
+		 */
+		public long getDroppedCount() {
+			return 0;
+		}
+	}
+
+	/**
+	 * This class is a listener that receives events on the shared pool.
+	 */
+	private final class AsyncSubscription extends Subscription implements Runnable {
+		private final BlockingQueue<GameEvent> queue = new ArrayBlockingQueue<GameEvent>(QUEUE_CAPACITY);
+		private final AtomicLong dropped = new AtomicLong();
+		// true while a drain of the queue is submitted or running
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile boolean cancelled;
+
+		private AsyncSubscription(GameEventListener listener) {
+			super(listener);
+		}
+
+		@Override
+		void deliver(GameEvent event) {
+			if (!queue.offer(event)) {
+				dropped.incrementAndGet();
+				return;
+			}
+			if (draining.compareAndSet(false, true)) {
+				DELIVERY_EXECUTOR.execute(this);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			cancelled = true;
+			queue.clear();
+		}
+
+		@Override
+		public long getDroppedCount() {
+			return dropped.get();
+		}
+
+		@Override
+		public void run() {
+			List<GameEvent> batch = new ArrayList<GameEvent>(MAX_BATCH);
+			do {
+				while (!cancelled && queue.drainTo(batch, MAX_BATCH) > 0) {
+					try {
+						listener.onEvents(batch);
+					} catch (RuntimeException e) {
+						e.printStackTrace();
+					}
+					batch.clear();
+				}
+				draining.set(false);
+				// an event offered after the last drain but before the flag
+				// was cleared did not submit a drain, so it is picked up here
+			} while (!cancelled && !queue.isEmpty() && draining.compareAndSet(false, true));
+		}
+	}
+}
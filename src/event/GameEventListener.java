@@ -0,0 +1,29 @@
+package event;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameEventListener.java
+ * PURPOSE: This interface is implemented by everything that listens to a
+ * GameEventBus, such as the text and GUI views.
+ */
+import java.util.List;
+
+public interface GameEventListener {
+
+	/**
+	 * This method is called for every event published on the bus.
+	 * @param event the event
+	 */
+	void onEvent(GameEvent event);
+
+	/**
+	 * This method is called with a batch of events when the listener
+	 * receives them asynchronously. By default each event is passed to
+	 * onEvent in the order it was published.
+	 * @param events the events, oldest first
+	 */
+	default void onEvents(List<GameEvent> events) {
+		for (GameEvent event : events) {
+			onEvent(event);
+		}
+	}
+}
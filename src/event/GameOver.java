@@ -0,0 +1,40 @@
+package event;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameOver.java
+ * PURPOSE: This event is published right after the GuessEvaluated event
+ * of the guess that ended the game, either by finding the answer or by
+ * using up the last guess.
+ */
+public final class GameOver extends GameEvent {
+	private final boolean won;
+	private final String answer;
+
+	/**
+	 * GameOver constructor.
+	 * @param guessNumber the number of the last guess, counting from 0
+	 * @param won whether the answer was found
+	 * @param answer the answer of the game
+	 */
+	public GameOver(int guessNumber, boolean won, String answer) {
+		super(guessNumber);
+		this.won = won;
+		this.answer = answer;
+	}
+
+	public boolean isWon() {
+		return won;
+	}
+
+	public String getAnswer() {
+		return answer;
+	}
+
+	/**
+	 * This method returns the number of guesses the game took.
+	 * @return the number of valid guesses made.
+	 */
+	public int getGuessCount() {
+		return getGuessNumber() + 1;
+	}
+}
@@ -0,0 +1,88 @@
+package event;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GuessEvaluated.java
+ * PURPOSE: This event is published after a valid guess has been scored.
+ * It holds the guess, its feedback code (see model.FeedbackScorer) and
+ * the letters whose result on the keyboard changed because of it.
+ */
+import model.FeedbackScorer;
+import model.PackedWord;
+import utilities.INDEX_RESULT;
+
+public final class GuessEvaluated extends GameEvent {
+	private final int packedGuess;
+	private final int feedbackCode;
+	private final int changedLetters;
+
+	/**
+	 * GuessEvaluated constructor.
+	 * @param guessNumber the number of the guess, counting from 0
+	 * @param packedGuess the guess as a packed word
+	 * @param feedbackCode the feedback code of the guess
+	 * @param changedLetters bit i is set if letter i changed on the keyboard
+	 */
+	public GuessEvaluated(int guessNumber, int packedGuess, int feedbackCode, int changedLetters) {
+		super(guessNumber);
+		this.packedGuess = packedGuess;
+		this.feedbackCode = feedbackCode;
+		this.changedLetters = changedLetters;
+	}
+
+	public int getPackedGuess() {
+		return packedGuess;
+	}
+
+	public int getFeedbackCode() {
+		return feedbackCode;
+	}
+
+	/**
+	 * This method returns the guess in upper case.
+	 * @return the guess.
+	 */
+	public String getGuess() {
+		return PackedWord.decode(packedGuess);
+	}
+
+	/**
+	 * This method returns if the guess was the answer.
+	 * @return true if every slot is CORRECT.
+	 */
+	public boolean isCorrect() {
+		return feedbackCode == FeedbackScorer.ALL_CORRECT;
+	}
+
+	/**
+	 * This method returns the result of one slot of the guess.
+	 * @param position the slot from 0 to 4
+	 * @return the result of the slot.
+	 */
+	public INDEX_RESULT getResultAt(int position) {
+		return FeedbackScorer.resultAt(feedbackCode, position);
+	}
+
+	/**
+	 * This method returns the letters whose result on the keyboard changed.
+	 * @return a bitmask where bit i stands for the letter 'A' + i.
+	 */
+	public int getChangedLetters() {
+		return changedLetters;
+	}
+
+	/**
+	 * This method returns the new keyboard result of a letter that changed,
+	 * which is the best result the letter got in this guess.
+	 * @param letter the letter from 0 ('A') to 25 ('Z')
+	 * @return the result or null if the letter is not in the guess.
+	 */
+	public INDEX_RESULT getLetterResult(int letter) {
+		int best = -1;
+		for (int i = 0; i < PackedWord.WORD_LENGTH; i++) {
+			if (PackedWord.letterAt(packedGuess, i) == letter) {
+				best = Math.max(best, FeedbackScorer.digitAt(feedbackCode, i));
+			}
+		}
+		return best < 0 ? null : FeedbackScorer.resultOfDigit(best);
+	}
+}
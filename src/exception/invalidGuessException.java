@@ -5,12 +5,58 @@ package exception;
  * exception class. It has a constructor which lets us print out 
  * messages based on the type of exceptions to show the accurate 
  * information to the user.
+ * The exception has no stack trace, a rejected guess is expected input 
+ * and not a bug, and the exceptions of the model are made once for each
+ * reason and thrown again, see forResult.
  *
  */
+import java.util.EnumMap;
+import java.util.Map;
+import utilities.GUESS_RESULT;
+
 public class invalidGuessException extends Exception {
 	
+	private static final Map<GUESS_RESULT, invalidGuessException> PREALLOCATED = preallocate();
+	private final GUESS_RESULT result;
+	
 	public invalidGuessException(String message){
-		super(message);
+		this(message, null);
 	}	
+	
+	private invalidGuessException(String message, GUESS_RESULT result){
+		super(message, null, false, false);
+		this.result = result;
+	}
+	
+	/**
+	 * This method returns the shared exception of a rejected guess.
+	 * @param result why the guess was rejected, not OK
+	 * @return the exception with the description of the result as message.
+	 */
+	public static invalidGuessException forResult(GUESS_RESULT result) {
+		invalidGuessException exception = PREALLOCATED.get(result);
+		if (exception == null) {
+			throw new IllegalArgumentException("The guess was not rejected.");
+		}
+		return exception;
+	}
+	
+	/**
+	 * This method returns why the guess was rejected.
+	 * @return the result, or null if the exception was not made for one.
+	 */
+	public GUESS_RESULT getResult() {
+		return result;
+	}
+	
+	private static Map<GUESS_RESULT, invalidGuessException> preallocate() {
+		Map<GUESS_RESULT, invalidGuessException> exceptions = new EnumMap<>(GUESS_RESULT.class);
+		for (GUESS_RESULT result : GUESS_RESULT.values()) {
+			if (result != GUESS_RESULT.OK) {
+				exceptions.put(result, new invalidGuessException(result.getDescription(), result));
+			}
+		}
+		return exceptions;
+	}
 
 }
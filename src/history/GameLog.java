@@ -0,0 +1,316 @@
+package history;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameLog.java
+ * PURPOSE: This class is an append-only binary log of the games played.
+ * Every game writes a GAME_STARTED record with its answer, a GUESS record
+ * for each guess with its feedback code (see model.FeedbackScorer) and a
+ * GAME_OVER record. Each record is 24 bytes: session id, time in
+ * milliseconds, packed word (see model.PackedWord), guess number, code and
+ * type. The records go into segment files that are mapped read-write, so
+ * appending a record is a few stores into memory and survives a crash of
+ * the program. A full segment is flushed and the log rolls to a new one.
+ * Each segment starts with a 16 byte header (magic number, version, record
+ * size and the number of records it holds). A record whose type is zero
+ * marks the end of the records written so far. See GameLogReader to read
+ * the log back.
+ */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class GameLog implements Closeable {
+	//constants of the file format
+	static final int MAGIC = 0x57474C31; // "WGL1"
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 16;
+	static final int RECORD_BYTES = 24;
+	// offsets of the fields in a record
+	static final int SESSION = 0;
+	static final int TIME = 8;
+	static final int WORD = 16;
+	static final int GUESS_NUMBER = 20;
+	static final int CODE = 21;
+	static final int TYPE = 23;
+	private static final String SEGMENT_PREFIX = "games-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	/** The type of the record written when a game starts, its word is the answer. */
+	public static final int GAME_STARTED = 1;
+	/** The type of the record of a guess, its code is the feedback code. */
+	public static final int GUESS = 2;
+	/** The type of the record written when a game ends, its code is 1 if the game was won. */
+	public static final int GAME_OVER = 3;
+	/** The number of records a segment holds unless told otherwise, 24 MB of records. */
+	public static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+	/** The system property naming the directory of the shared log. */
+	public static final String DIRECTORY_PROPERTY = "wordle.log";
+
+	private static volatile GameLog shared;
+	private final File directory;
+	private final int segmentRecords;
+	private int segmentNumber;
+	private MappedByteBuffer segment;
+	private int recordCount;
+	private boolean closed;
+
+	private GameLog(File directory, int segmentRecords) {
+		this.directory = directory;
+		this.segmentRecords = segmentRecords;
+	}
+
+	/**
+	 * This method opens the log in a directory with segments of the default
+	 * size, creating the directory if needed. Appending continues after the
+	 * last record of the last segment.
+	 * @param directory the directory of the segment files.
+	 * @return the opened log.
+	 * @throws IOException if the directory or a segment cannot be used.
+	 */
+	public static GameLog open(File directory) throws IOException {
+		return open(directory, DEFAULT_SEGMENT_RECORDS);
+	}
+
+	/**
+	 * This method opens the log in a directory, creating the directory if
+	 * needed. Appending continues after the last record of the last segment,
+	 * whose size is kept, new segments hold the given number of records.
+	 * @param directory the directory of the segment files.
+	 * @param segmentRecords the number of records of a new segment.
+	 * @return the opened log.
+	 * @throws IOException if the directory or a segment cannot be used.
+	 */
+	public static GameLog open(File directory, int segmentRecords) throws IOException {
+		if (segmentRecords <= 0 || segmentRecords > (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES) {
+			throw new IllegalArgumentException("A segment must hold between 1 and "
+					+ (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES + " records.");
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create the log directory " + directory);
+		}
+		GameLog log = new GameLog(directory, segmentRecords);
+		int[] numbers = segmentNumbers(directory);
+		if (numbers.length == 0) {
+			log.mapSegment(0);
+		}
+		else {
+			log.mapSegment(numbers[numbers.length - 1]);
+		}
+		return log;
+	}
+
+	/**
+	 * This method returns the log shared by the games of this program, in
+	 * the directory named by the system property wordle.log. The log is
+	 * opened on the first call and closed when the program exits.
+	 * @return the shared log, or null if the property is not set.
+	 * @throws IOException if the log cannot be opened.
+	 */
+	public static GameLog shared() throws IOException {
+		String name = System.getProperty(DIRECTORY_PROPERTY);
+		if (name == null) {
+			return null;
+		}
+		GameLog log = shared;
+		if (log == null) {
+			synchronized (GameLog.class) {
+				log = shared;
+				if (log == null) {
+					log = open(new File(name));
+					GameLog opened = log;
+					Runtime.getRuntime().addShutdownHook(new Thread(opened::close, "wordle-log-close"));
+					shared = log;
+				}
+			}
+		}
+		return log;
+	}
+
+	/**
+	 * This method records the start of a game.
+	 * @param sessionId the id of the game
+	 * @param packedAnswer the answer as a packed word
+	 */
+	public void gameStarted(long sessionId, int packedAnswer) {
+		append(sessionId, GAME_STARTED, 0, packedAnswer, 0);
+	}
+
+	/**
+	 * This method records a guess of a game.
+	 * @param sessionId the id of the game
+	 * @param guessNumber the guess number, from 0
+	 * @param packedGuess the guess as a packed word
+	 * @param feedbackCode the feedback code of the guess
+	 */
+	public void guess(long sessionId, int guessNumber, int packedGuess, int feedbackCode) {
+		append(sessionId, GUESS, guessNumber, packedGuess, feedbackCode);
+	}
+
+	/**
+	 * This method records the end of a game.
+	 * @param sessionId the id of the game
+	 * @param guessNumber the number of the last guess, from 0
+	 * @param won if the answer was guessed
+	 */
+	public void gameOver(long sessionId, int guessNumber, boolean won) {
+		append(sessionId, GAME_OVER, guessNumber, 0, won ? 1 : 0);
+	}
+
+	/**
+	 * This method writes one record, rolling to a new segment when the
+	 * current one is full. The type is written last so that a record cut
+	 * short by a crash reads as the end of the segment.
+	 * @throws UncheckedIOException if a new segment cannot be made.
+	 * @throws IllegalStateException if the log is closed.
+	 */
+	private synchronized void append(long sessionId, int type, int guessNumber, int packedWord, int code) {
+		if (closed) {
+			throw new IllegalStateException("The game log is closed.");
+		}
+		if (recordCount == capacity(segment)) {
+			try {
+				segment.force();
+				mapSegment(segmentNumber + 1);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		int offset = HEADER_BYTES + recordCount * RECORD_BYTES;
+		segment.putLong(offset + SESSION, sessionId)
+				.putLong(offset + TIME, System.currentTimeMillis())
+				.putInt(offset + WORD, packedWord)
+				.put(offset + GUESS_NUMBER, (byte) guessNumber)
+				.putShort(offset + CODE, (short) code)
+				.put(offset + TYPE, (byte) type);
+		recordCount += 1;
+	}
+
+	/**
+	 * This method writes the records appended so far to the disk.
+	 */
+	public synchronized void force() {
+		if (!closed) {
+			segment.force();
+		}
+	}
+
+	/**
+	 * This method writes the records to the disk and closes the log.
+	 * Appending to a closed log fails.
+	 */
+	@Override
+	public synchronized void close() {
+		if (!closed) {
+			segment.force();
+			closed = true;
+			segment = null;
+		}
+	}
+
+	/**
+	 * This method returns the directory of the segment files.
+	 * @return the directory of the log.
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * This method maps a segment, creating it with the size of this log if
+	 * it does not exist, and finds its end.
+	 */
+	private void mapSegment(int number) throws IOException {
+		File file = segmentFile(directory, number);
+		boolean exists = file.length() > 0;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long length = exists ? channel.size() : HEADER_BYTES + (long) segmentRecords * RECORD_BYTES;
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+			if (!exists) {
+				mapped.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_BYTES).putInt(12, segmentRecords);
+			}
+			checkHeader(mapped, file);
+			segment = mapped;
+			segmentNumber = number;
+			recordCount = countRecords(mapped);
+		}
+	}
+
+	/**
+	 * This method checks the header of a segment.
+	 * @throws IOException if the file is not a segment of this format.
+	 */
+	static void checkHeader(ByteBuffer segment, File file) throws IOException {
+		if (segment.capacity() < HEADER_BYTES || segment.getInt(0) != MAGIC || segment.getInt(4) != VERSION
+				|| segment.getInt(8) != RECORD_BYTES
+				|| segment.capacity() != HEADER_BYTES + (long) capacity(segment) * RECORD_BYTES) {
+			throw new IOException(file + " is not a game log segment.");
+		}
+	}
+
+	/**
+	 * This method returns the number of records a segment holds.
+	 */
+	static int capacity(ByteBuffer segment) {
+		return segment.getInt(12);
+	}
+
+	/**
+	 * This method finds the number of records written to a segment. The
+	 * records are written one after another, so the first record whose
+	 * type is zero is found with a binary search.
+	 */
+	static int countRecords(ByteBuffer segment) {
+		int low = 0;
+		int high = capacity(segment);
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (segment.get(HEADER_BYTES + mid * RECORD_BYTES + TYPE) != 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * This method returns the file of a segment.
+	 */
+	static File segmentFile(File directory, int number) {
+		return new File(directory, String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * This method returns the numbers of the segments in a directory, in
+	 * the order they were written.
+	 */
+	static int[] segmentNumbers(File directory) {
+		String[] names = directory.list();
+		if (names == null) {
+			return new int[0];
+		}
+		int[] numbers = new int[names.length];
+		int count = 0;
+		for (String name : names) {
+			if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+				try {
+					numbers[count] = Integer.parseInt(
+							name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+					count += 1;
+				} catch (NumberFormatException e) {
+					// not a segment
+				}
+			}
+		}
+		numbers = Arrays.copyOf(numbers, count);
+		Arrays.sort(numbers);
+		return numbers;
+	}
+}
@@ -0,0 +1,163 @@
+package history;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameLogReader.java
+ * PURPOSE: This class reads a GameLog back. It maps each segment read only
+ * and hands the records to a visitor as plain numbers, in the order they
+ * were written, so streaming millions of games makes no objects and runs
+ * close to the speed of the disk. It can also rebuild the WordleModel of a
+ * session by playing its guesses again. The entry point prints a summary
+ * of the games in a log.
+ *
+ * Usage: java history.GameLogReader [log directory]
+ */
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import exception.invalidGuessException;
+import model.Dictionary;
+import model.DictionaryRegistry;
+import model.PackedWord;
+import model.WordleModel;
+
+public final class GameLogReader {
+	private final File directory;
+
+	/**
+	 * This interface is called with each record of the log.
+	 */
+	public interface RecordVisitor {
+		/**
+		 * This method is called with the fields of one record.
+		 * @param sessionId the id of the game
+		 * @param timeMillis when the record was written
+		 * @param type GAME_STARTED, GUESS or GAME_OVER of GameLog
+		 * @param guessNumber the guess number, from 0
+		 * @param packedWord the answer or the guess as a packed word
+		 * @param code the feedback code, or 1 for a won GAME_OVER
+		 */
+		void visit(long sessionId, long timeMillis, int type, int guessNumber, int packedWord, int code);
+	}
+
+	/**
+	 * This is the constructor of a reader of the log in a directory.
+	 * @param directory the directory of the segment files.
+	 */
+	public GameLogReader(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * This is the entry point that prints how many games a log holds, how
+	 * many were won and in how many guesses.
+	 * @param args the log directory, optional.
+	 * @throws IOException if the log cannot be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		String name = args.length > 0 ? args[0] : System.getProperty(GameLog.DIRECTORY_PROPERTY, "games");
+		long[] games = new long[1];
+		long[] wins = new long[1];
+		long[] distribution = new long[6];
+		long start = System.nanoTime();
+		long records = new GameLogReader(new File(name)).forEach(
+				(sessionId, timeMillis, type, guessNumber, packedWord, code) -> {
+			if (type == GameLog.GAME_STARTED) {
+				games[0] += 1;
+			}
+			else if (type == GameLog.GAME_OVER && code == 1) {
+				wins[0] += 1;
+				distribution[guessNumber] += 1;
+			}
+		});
+		long millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+		System.out.println("Read " + records + " records in " + millis + " ms ("
+				+ records * 1000 / millis + " records/s)");
+		System.out.println("Games: " + games[0] + ", won: " + wins[0]);
+		for (int i = 0; i < distribution.length; i++) {
+			System.out.println("  " + (i + 1) + " guesses: " + distribution[i]);
+		}
+	}
+
+	/**
+	 * This method calls the visitor with every record of the log, oldest
+	 * first.
+	 * @param visitor the visitor of the records
+	 * @return the number of records read.
+	 * @throws IOException if a segment cannot be read.
+	 */
+	public long forEach(RecordVisitor visitor) throws IOException {
+		long total = 0;
+		for (int number : GameLog.segmentNumbers(directory)) {
+			File file = GameLog.segmentFile(directory, number);
+			MappedByteBuffer segment;
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			GameLog.checkHeader(segment, file);
+			int count = GameLog.countRecords(segment);
+			for (int i = 0, offset = GameLog.HEADER_BYTES; i < count; i++, offset += GameLog.RECORD_BYTES) {
+				visitor.visit(segment.getLong(offset + GameLog.SESSION),
+						segment.getLong(offset + GameLog.TIME),
+						segment.get(offset + GameLog.TYPE),
+						segment.get(offset + GameLog.GUESS_NUMBER),
+						segment.getInt(offset + GameLog.WORD),
+						segment.getShort(offset + GameLog.CODE));
+			}
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * This method rebuilds a game of the log with the default dictionary.
+	 * @param sessionId the id of the game
+	 * @return the game with every logged guess made, or null if the log
+	 * does not hold the game.
+	 * @throws IOException if the log or the dictionary cannot be read.
+	 */
+	public WordleModel replay(long sessionId) throws IOException {
+		return replay(sessionId, DictionaryRegistry.getDefault());
+	}
+
+	/**
+	 * This method rebuilds a game of the log by making its guesses again on
+	 * a new model with the logged answer.
+	 * @param sessionId the id of the game
+	 * @param dictionary the dictionary the game was played with
+	 * @return the game with every logged guess made, or null if the log
+	 * does not hold the game.
+	 * @throws IOException if the log cannot be read, or its guesses are
+	 * not valid words of the dictionary.
+	 */
+	public WordleModel replay(long sessionId, Dictionary dictionary) throws IOException {
+		int[] answer = { PackedWord.INVALID };
+		int[] guesses = new int[6];
+		int[] guessCount = new int[1];
+		forEach((session, timeMillis, type, guessNumber, packedWord, code) -> {
+			if (session != sessionId) {
+				return;
+			}
+			if (type == GameLog.GAME_STARTED) {
+				answer[0] = packedWord;
+			}
+			else if (type == GameLog.GUESS && guessNumber < guesses.length) {
+				guesses[guessNumber] = packedWord;
+				guessCount[0] = Math.max(guessCount[0], guessNumber + 1);
+			}
+		});
+		if (answer[0] == PackedWord.INVALID) {
+			return null;
+		}
+		WordleModel model = new WordleModel(dictionary, PackedWord.decode(answer[0]));
+		for (int i = 0; i < guessCount[0]; i++) {
+			try {
+				model.makeGuess(i, PackedWord.decode(guesses[i]));
+			} catch (invalidGuessException e) {
+				throw new IOException("Session " + sessionId + " has a guess that is not in the dictionary.", e);
+			}
+		}
+		return model;
+	}
+}
@@ -0,0 +1,59 @@
+package history;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameRecorder.java
+ * PURPOSE: This class writes the events of one game to a GameLog. It is
+ * attached to a game when the game starts and listens to the events of
+ * the model on the thread that makes the guesses. A log that cannot be 
+ * written never stops the game, the error is printed and the game goes on.
+ */
+import java.io.UncheckedIOException;
+import event.GameEvent;
+import event.GameEventListener;
+import event.GameOver;
+import event.GuessEvaluated;
+import model.PackedWord;
+import model.WordleModel;
+
+public final class GameRecorder implements GameEventListener {
+	private final GameLog log;
+	private final long sessionId;
+
+	private GameRecorder(GameLog log, long sessionId) {
+		this.log = log;
+		this.sessionId = sessionId;
+	}
+
+	/**
+	 * This method records the start of a game and then every event of it.
+	 * @param log the log to write to
+	 * @param model the game, before any guess is made
+	 * @return the recorder listening to the game.
+	 */
+	public static GameRecorder attach(GameLog log, WordleModel model) {
+		GameRecorder recorder = new GameRecorder(log, model.getSessionId());
+		try {
+			log.gameStarted(recorder.sessionId, PackedWord.encode(model.getAnswer()));
+		} catch (UncheckedIOException | IllegalStateException e) {
+			e.printStackTrace();
+		}
+		model.getEvents().subscribe(recorder);
+		return recorder;
+	}
+
+	@Override
+	public void onEvent(GameEvent event) {
+		try {
+			if (event instanceof GuessEvaluated) {
+				GuessEvaluated guess = (GuessEvaluated) event;
+				log.guess(sessionId, guess.getGuessNumber(), guess.getPackedGuess(), guess.getFeedbackCode());
+			}
+			else if (event instanceof GameOver) {
+				GameOver over = (GameOver) event;
+				log.gameOver(sessionId, over.getGuessNumber(), over.isWon());
+			}
+		} catch (UncheckedIOException | IllegalStateException e) {
+			e.printStackTrace();
+		}
+	}
+}
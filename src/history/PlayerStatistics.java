@@ -0,0 +1,126 @@
+package history;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: PlayerStatistics.java
+ * PURPOSE: This class is a snapshot of the statistics of a player: games
+ * played and won, how many guesses the won games took, and the current and
+ * longest run of won games. A snapshot never changes, adding a game makes
+ * a new one, see StatisticsStore.
+ */
+import java.util.Arrays;
+
+public final class PlayerStatistics {
+	/** The number of guesses a game allows. */
+	public static final int MAX_GUESSES = 6;
+	/** The statistics of a player who has not played. */
+	public static final PlayerStatistics EMPTY = new PlayerStatistics(0, 0, new long[MAX_GUESSES], 0, 0);
+
+	private final long played;
+	private final long wins;
+	private final long[] distribution;
+	private final int currentStreak;
+	private final int maxStreak;
+
+	PlayerStatistics(long played, long wins, long[] distribution, int currentStreak, int maxStreak) {
+		this.played = played;
+		this.wins = wins;
+		this.distribution = distribution;
+		this.currentStreak = currentStreak;
+		this.maxStreak = maxStreak;
+	}
+
+	/**
+	 * This method returns the statistics after one more game.
+	 * @param won if the game was won
+	 * @param guessCount the number of guesses of the game, 1 to 6
+	 * @return the new statistics.
+	 */
+	public PlayerStatistics plus(boolean won, int guessCount) {
+		if (!won) {
+			return new PlayerStatistics(played + 1, wins, distribution, 0, maxStreak);
+		}
+		if (guessCount < 1 || guessCount > MAX_GUESSES) {
+			throw new IllegalArgumentException("A won game takes 1 to " + MAX_GUESSES + " guesses.");
+		}
+		long[] newDistribution = distribution.clone();
+		newDistribution[guessCount - 1] += 1;
+		int streak = currentStreak + 1;
+		return new PlayerStatistics(played + 1, wins + 1, newDistribution, streak, Math.max(maxStreak, streak));
+	}
+
+	/**
+	 * This method returns the number of games played.
+	 * @return the games played.
+	 */
+	public long getPlayed() {
+		return played;
+	}
+
+	/**
+	 * This method returns the number of games won.
+	 * @return the games won.
+	 */
+	public long getWins() {
+		return wins;
+	}
+
+	/**
+	 * This method returns the share of the games played that were won.
+	 * @return the win rate from 0 to 100, 0 if no game was played.
+	 */
+	public int getWinPercentage() {
+		return played == 0 ? 0 : (int) (wins * 100 / played);
+	}
+
+	/**
+	 * This method returns how many won games took a number of guesses.
+	 * @param guessCount the number of guesses, 1 to 6
+	 * @return the number of games won in that many guesses.
+	 */
+	public long getWinsIn(int guessCount) {
+		return distribution[guessCount - 1];
+	}
+
+	/**
+	 * This method returns the number of games won in a row up to the last.
+	 * @return the current streak.
+	 */
+	public int getCurrentStreak() {
+		return currentStreak;
+	}
+
+	/**
+	 * This method returns the longest number of games won in a row.
+	 * @return the max streak.
+	 */
+	public int getMaxStreak() {
+		return maxStreak;
+	}
+
+	long[] distribution() {
+		return distribution;
+	}
+
+	/**
+	 * This method returns the statistics as lines of text to show a player.
+	 * @return the statistics as text.
+	 */
+	@Override
+	public String toString() {
+		long most = Math.max(1, Arrays.stream(distribution).max().getAsLong());
+		StringBuilder text = new StringBuilder();
+		text.append("Played: ").append(played)
+			.append("  Win %: ").append(getWinPercentage())
+			.append("  Current streak: ").append(currentStreak)
+			.append("  Max streak: ").append(maxStreak)
+			.append("\nGuess distribution:");
+		for (int i = 0; i < MAX_GUESSES; i++) {
+			text.append('\n').append(i + 1).append(": ");
+			for (long bar = distribution[i] * 20 / most; bar > 0; bar--) {
+				text.append('#');
+			}
+			text.append(' ').append(distribution[i]);
+		}
+		return text.toString();
+	}
+}
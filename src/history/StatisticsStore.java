@@ -0,0 +1,197 @@
+package history;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: StatisticsStore.java
+ * PURPOSE: This class keeps the PlayerStatistics of the player in a small
+ * file of fixed layout. Adding a finished game updates the totals in
+ * memory and writes one record, so it takes the same time however many
+ * games were played, and reading the statistics is a field read. The file
+ * holds two slots and each write goes to the older one, with a sequence
+ * number and a CRC32, so a write cut short by a crash leaves the other slot
+ * to read the statistics from. A slot is 96 bytes: magic number, version,
+ * sequence, games played and won, current and max streak, the six counts
+ * of the guess distribution and the CRC32 of the bytes before it.
+ */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public final class StatisticsStore implements Closeable {
+	//constants of the file format
+	private static final int MAGIC = 0x57535431; // "WST1"
+	private static final int VERSION = 1;
+	private static final int SLOT_BYTES = 96;
+	private static final int CRC_OFFSET = 88;
+	private static final int SLOTS = 2;
+	/** The file the statistics are kept in by default. */
+	public static final String DEFAULT_FILENAME = "Statistics.bin";
+
+	private static volatile StatisticsStore defaultStore;
+	private final FileChannel channel;
+	private final ByteBuffer slot = ByteBuffer.allocate(SLOT_BYTES);
+	private final CRC32 crc = new CRC32();
+	private volatile PlayerStatistics statistics;
+	private long sequence;
+
+	private StatisticsStore(FileChannel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * This method opens the statistics kept in a file, creating the file
+	 * with empty statistics if it does not exist.
+	 * @param file the statistics file
+	 * @return the opened store.
+	 * @throws IOException if the file cannot be read or written, or
+	 * neither of its slots is valid.
+	 */
+	public static StatisticsStore open(File file) throws IOException {
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		StatisticsStore store = new StatisticsStore(channel);
+		try {
+			store.load(file);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return store;
+	}
+
+	/**
+	 * This method returns the store of the file Statistics.bin, opened on
+	 * the first call and closed when the program exits.
+	 * @return the default store.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public static StatisticsStore getDefault() throws IOException {
+		StatisticsStore store = defaultStore;
+		if (store == null) {
+			synchronized (StatisticsStore.class) {
+				store = defaultStore;
+				if (store == null) {
+					store = open(new File(DEFAULT_FILENAME));
+					StatisticsStore opened = store;
+					Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+						try {
+							opened.close();
+						} catch (IOException e) {
+							// exiting anyway
+						}
+					}, "wordle-statistics-close"));
+					defaultStore = store;
+				}
+			}
+		}
+		return store;
+	}
+
+	/**
+	 * This method returns the statistics of every game recorded so far.
+	 * @return the current statistics.
+	 */
+	public PlayerStatistics current() {
+		return statistics;
+	}
+
+	/**
+	 * This method adds a finished game to the statistics and writes them
+	 * to the file before returning.
+	 * @param won if the game was won
+	 * @param guessCount the number of guesses of the game, 1 to 6
+	 * @return the statistics with the game.
+	 * @throws IOException if the file cannot be written, the statistics
+	 * in memory have the game anyway.
+	 */
+	public synchronized PlayerStatistics record(boolean won, int guessCount) throws IOException {
+		statistics = statistics.plus(won, guessCount);
+		sequence += 1;
+		write(statistics, sequence);
+		return statistics;
+	}
+
+	/**
+	 * This method closes the file of the store.
+	 * @throws IOException if the file cannot be closed.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * This method reads the newer valid slot, or starts empty statistics
+	 * if the file is new.
+	 */
+	private void load(File file) throws IOException {
+		if (channel.size() == 0) {
+			statistics = PlayerStatistics.EMPTY;
+			sequence = 0;
+			write(statistics, sequence);
+			return;
+		}
+		PlayerStatistics newest = null;
+		long newestSequence = -1;
+		for (int i = 0; i < SLOTS; i++) {
+			if (readSlot(i) && slot.getLong(8) > newestSequence) {
+				newestSequence = slot.getLong(8);
+				long[] distribution = new long[PlayerStatistics.MAX_GUESSES];
+				for (int g = 0; g < distribution.length; g++) {
+					distribution[g] = slot.getLong(40 + 8 * g);
+				}
+				newest = new PlayerStatistics(slot.getLong(16), slot.getLong(24), distribution,
+						slot.getInt(32), slot.getInt(36));
+			}
+		}
+		if (newest == null) {
+			throw new IOException(file + " is not a statistics file or is damaged.");
+		}
+		statistics = newest;
+		sequence = newestSequence;
+	}
+
+	/**
+	 * This method reads a slot into the slot buffer.
+	 * @return if the slot holds valid statistics.
+	 */
+	private boolean readSlot(int index) throws IOException {
+		slot.clear();
+		long position = (long) index * SLOT_BYTES;
+		while (slot.hasRemaining()) {
+			if (channel.read(slot, position + slot.position()) < 0) {
+				return false;
+			}
+		}
+		crc.reset();
+		crc.update(slot.array(), 0, CRC_OFFSET);
+		return slot.getInt(0) == MAGIC && slot.getInt(4) == VERSION
+				&& slot.getInt(CRC_OFFSET) == (int) crc.getValue();
+	}
+
+	/**
+	 * This method writes statistics to the slot the sequence number picks,
+	 * which is never the slot of the last write, and waits for the disk.
+	 */
+	private void write(PlayerStatistics statistics, long sequence) throws IOException {
+		slot.clear();
+		slot.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, sequence)
+			.putLong(16, statistics.getPlayed()).putLong(24, statistics.getWins())
+			.putInt(32, statistics.getCurrentStreak()).putInt(36, statistics.getMaxStreak());
+		long[] distribution = statistics.distribution();
+		for (int g = 0; g < distribution.length; g++) {
+			slot.putLong(40 + 8 * g, distribution[g]);
+		}
+		crc.reset();
+		crc.update(slot.array(), 0, CRC_OFFSET);
+		slot.putInt(CRC_OFFSET, (int) crc.getValue()).putInt(CRC_OFFSET + 4, 0);
+		long position = (sequence % SLOTS) * SLOT_BYTES;
+		while (slot.hasRemaining()) {
+			channel.write(slot, position + slot.position());
+		}
+		channel.force(false);
+	}
+}
@@ -0,0 +1,31 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: DictionaryLoadEvent.java
+ * PURPOSE: This is the Flight Recorder event of loading a dictionary, see
+ * model.Dictionary.load. It is recorded for every load.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("wordle.DictionaryLoad")
+@Label("Dictionary Load")
+@Category({ "Wordle", "Dictionary" })
+@Description("Loading the dictionary of valid words")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class DictionaryLoadEvent extends jdk.jfr.Event {
+	@Label("File")
+	public String file;
+
+	@Label("Compiled")
+	@Description("If the dictionary was mapped from a compiled file")
+	public boolean compiled;
+
+	@Label("Words")
+	public int words;
+}
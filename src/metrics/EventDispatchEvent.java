@@ -0,0 +1,31 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: EventDispatchEvent.java
+ * PURPOSE: This is the Flight Recorder event of publishing the events of a
+ * guess to the listeners of the game. Listeners called on the publishing
+ * thread are inside it, which is where a slow view shows up. Only 
+ * dispatches slower than the threshold are recorded unless the recording
+ * asks for less.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("wordle.EventDispatch")
+@Label("Event Dispatch")
+@Category({ "Wordle", "Guess" })
+@Threshold("1 ms")
+@StackTrace(false)
+public final class EventDispatchEvent extends jdk.jfr.Event {
+	@Label("Session Id")
+	public long sessionId;
+
+	@Label("Guess Number")
+	public int guessNumber;
+
+	@Label("Events")
+	public int events;
+}
@@ -0,0 +1,238 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameMetrics.java
+ * PURPOSE: This class measures the hot paths of the game: how many guesses
+ * are made and rejected for each reason, and how long making a guess, 
+ * checking it against the dictionary, notifying the listeners and a
+ * submitted guess of the controller take. Counters are LongAdders and the
+ * latencies go into lock-free LatencyHistograms, so threads never contend
+ * on them. The metrics are published as the JMX MBean 
+ * wordle:type=GameMetrics.
+ * 
+ * The metrics are off unless the program runs with -Dwordle.metrics=true.
+ * ENABLED is a constant, so when it is false the JIT compiler removes the 
+ * measuring code from the callers altogether.
+ */
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import utilities.GUESS_RESULT;
+
+public final class GameMetrics implements GameMetricsMXBean {
+	/** If the game is measured, read once when the class loads. */
+	public static final boolean ENABLED = Boolean.getBoolean("wordle.metrics");
+	/** The name the metrics are registered with. */
+	public static final String OBJECT_NAME = "wordle:type=GameMetrics";
+	private static final GameMetrics INSTANCE = ENABLED ? register(new GameMetrics()) : null;
+
+	private final LongAdder guesses = new LongAdder();
+	private final LongAdder[] rejections = new LongAdder[GUESS_RESULT.values().length];
+	private final LatencyHistogram makeGuess = new LatencyHistogram();
+	private final LatencyHistogram validation = new LatencyHistogram();
+	private final LatencyHistogram notification = new LatencyHistogram();
+	private final LatencyHistogram submitGuess = new LatencyHistogram();
+	private volatile long startNanos = System.nanoTime();
+
+	GameMetrics() {
+		for (int i = 0; i < rejections.length; i++) {
+			rejections[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * This method returns the metrics of the program. Callers check
+	 * ENABLED first.
+	 * @return the metrics, or null if they are off.
+	 */
+	public static GameMetrics get() {
+		return INSTANCE;
+	}
+
+	private static GameMetrics register(GameMetrics metrics) {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+		return metrics;
+	}
+
+	/**
+	 * This method counts a guess that was made and how long it took.
+	 * @param nanos the time makeGuess of the model took
+	 */
+	public void guessMade(long nanos) {
+		guesses.increment();
+		makeGuess.record(nanos);
+	}
+
+	/**
+	 * This method counts a rejected guess.
+	 * @param reason why the guess was rejected
+	 */
+	public void rejected(GUESS_RESULT reason) {
+		rejections[reason.ordinal()].increment();
+	}
+
+	/**
+	 * This method records how long checking a guess against the dictionary took.
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void validated(long nanos) {
+		validation.record(nanos);
+	}
+
+	/**
+	 * This method records how long publishing the events of a guess took.
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void notified(long nanos) {
+		notification.record(nanos);
+	}
+
+	/**
+	 * This method records how long a guess submitted to the controller 
+	 * took from the call until it was done.
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void submitted(long nanos) {
+		submitGuess.record(nanos);
+	}
+
+	@Override
+	public long getGuessCount() {
+		return guesses.sum();
+	}
+
+	@Override
+	public double getGuessesPerSecond() {
+		return perSecond(guesses.sum());
+	}
+
+	@Override
+	public long getRejectedWrongLength() {
+		return rejections[GUESS_RESULT.WRONG_LENGTH.ordinal()].sum();
+	}
+
+	@Override
+	public long getRejectedNotAlphabetic() {
+		return rejections[GUESS_RESULT.NON_ALPHA.ordinal()].sum();
+	}
+
+	@Override
+	public long getRejectedNotInDictionary() {
+		return rejections[GUESS_RESULT.NOT_IN_DICTIONARY.ordinal()].sum();
+	}
+
+	@Override
+	public long getRejectedHardModeViolation() {
+		return rejections[GUESS_RESULT.HARD_MODE_VIOLATION.ordinal()].sum();
+	}
+
+	@Override
+	public long getRejectedGameOver() {
+		return rejections[GUESS_RESULT.GAME_OVER.ordinal()].sum();
+	}
+
+	@Override
+	public double getRejectedPerSecond() {
+		long rejected = 0;
+		for (LongAdder count : rejections) {
+			rejected += count.sum();
+		}
+		return perSecond(rejected);
+	}
+
+	@Override
+	public long getMakeGuessMeanNanos() {
+		return makeGuess.mean();
+	}
+
+	@Override
+	public long getMakeGuessP50Nanos() {
+		return makeGuess.percentile(50);
+	}
+
+	@Override
+	public long getMakeGuessP99Nanos() {
+		return makeGuess.percentile(99);
+	}
+
+	@Override
+	public long getMakeGuessP999Nanos() {
+		return makeGuess.percentile(99.9);
+	}
+
+	@Override
+	public long getMakeGuessMaxNanos() {
+		return makeGuess.max();
+	}
+
+	@Override
+	public long getValidationP50Nanos() {
+		return validation.percentile(50);
+	}
+
+	@Override
+	public long getValidationP99Nanos() {
+		return validation.percentile(99);
+	}
+
+	@Override
+	public long getValidationMaxNanos() {
+		return validation.max();
+	}
+
+	@Override
+	public long getNotificationP50Nanos() {
+		return notification.percentile(50);
+	}
+
+	@Override
+	public long getNotificationP99Nanos() {
+		return notification.percentile(99);
+	}
+
+	@Override
+	public long getNotificationMaxNanos() {
+		return notification.max();
+	}
+
+	@Override
+	public long getSubmitGuessP50Nanos() {
+		return submitGuess.percentile(50);
+	}
+
+	@Override
+	public long getSubmitGuessP99Nanos() {
+		return submitGuess.percentile(99);
+	}
+
+	@Override
+	public long getSubmitGuessMaxNanos() {
+		return submitGuess.max();
+	}
+
+	@Override
+	public void reset() {
+		guesses.reset();
+		for (LongAdder count : rejections) {
+			count.reset();
+		}
+		makeGuess.reset();
+		validation.reset();
+		notification.reset();
+		submitGuess.reset();
+		startNanos = System.nanoTime();
+	}
+
+	/**
+	 * This method returns a count per second since the start or the last reset.
+	 */
+	private double perSecond(long count) {
+		double seconds = (System.nanoTime() - startNanos) / 1e9;
+		return seconds <= 0 ? 0 : count / seconds;
+	}
+}
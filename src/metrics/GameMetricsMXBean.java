@@ -0,0 +1,41 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameMetricsMXBean.java
+ * PURPOSE: This interface is what JMX clients such as JConsole see of the
+ * GameMetrics: counts and rates of the guesses, the rejected guesses by
+ * reason, and percentiles of the latencies in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+	long getGuessCount();
+	double getGuessesPerSecond();
+	long getRejectedWrongLength();
+	long getRejectedNotAlphabetic();
+	long getRejectedNotInDictionary();
+	long getRejectedHardModeViolation();
+	long getRejectedGameOver();
+	double getRejectedPerSecond();
+
+	long getMakeGuessMeanNanos();
+	long getMakeGuessP50Nanos();
+	long getMakeGuessP99Nanos();
+	long getMakeGuessP999Nanos();
+	long getMakeGuessMaxNanos();
+
+	long getValidationP50Nanos();
+	long getValidationP99Nanos();
+	long getValidationMaxNanos();
+
+	long getNotificationP50Nanos();
+	long getNotificationP99Nanos();
+	long getNotificationMaxNanos();
+
+	long getSubmitGuessP50Nanos();
+	long getSubmitGuessP99Nanos();
+	long getSubmitGuessMaxNanos();
+
+	/**
+	 * This method sets every count and latency back to zero.
+	 */
+	void reset();
+}
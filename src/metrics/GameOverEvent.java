@@ -0,0 +1,33 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameOverEvent.java
+ * PURPOSE: This is the Flight Recorder event of the end of a game. It is 
+ * recorded for every game, with its outcome and how many answers were 
+ * still possible.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("wordle.GameOver")
+@Label("Game Over")
+@Category({ "Wordle", "Game" })
+@StackTrace(false)
+public final class GameOverEvent extends jdk.jfr.Event {
+	@Label("Session Id")
+	public long sessionId;
+
+	@Label("Guess Count")
+	public int guessCount;
+
+	@Label("Outcome")
+	public String outcome;
+
+	@Label("Answer")
+	public String answer;
+
+	@Label("Candidate Count")
+	public int candidateCount;
+}
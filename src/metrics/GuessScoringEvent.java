@@ -0,0 +1,32 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GuessScoringEvent.java
+ * PURPOSE: This is the Flight Recorder event of scoring a valid guess and
+ * narrowing the possible answers with its feedback code. Only scorings 
+ * slower than the threshold are recorded unless the recording asks for less.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("wordle.GuessScoring")
+@Label("Guess Scoring")
+@Category({ "Wordle", "Guess" })
+@Threshold("20 us")
+@StackTrace(false)
+public final class GuessScoringEvent extends jdk.jfr.Event {
+	@Label("Session Id")
+	public long sessionId;
+
+	@Label("Guess Number")
+	public int guessNumber;
+
+	@Label("Feedback Code")
+	public int feedbackCode;
+
+	@Label("Candidate Count")
+	public int candidateCount;
+}
@@ -0,0 +1,33 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GuessValidationEvent.java
+ * PURPOSE: This is the Flight Recorder event of checking a guess: its 
+ * length, its letters and if the dictionary has it. The outcome is OK or 
+ * why the guess was rejected. Only checks slower than the threshold are
+ * recorded unless the recording asks for less.
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("wordle.GuessValidation")
+@Label("Guess Validation")
+@Category({ "Wordle", "Guess" })
+@Threshold("20 us")
+@StackTrace(false)
+public final class GuessValidationEvent extends jdk.jfr.Event {
+	@Label("Session Id")
+	public long sessionId;
+
+	@Label("Guess Number")
+	public int guessNumber;
+
+	@Label("Guess")
+	public String guess;
+
+	@Label("Outcome")
+	public String outcome;
+}
@@ -0,0 +1,129 @@
+package metrics;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: LatencyHistogram.java
+ * PURPOSE: This class counts latencies into buckets without locks, so many
+ * threads can record at once. Latencies under 16 nanoseconds get a bucket
+ * each, larger ones go into 8 buckets per power of two, so a percentile is
+ * reported within 12.5 percent of the true latency. Recording is a few 
+ * shifts and an atomic increment.
+ */
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+	// buckets of the latencies under 16 ns, then 8 buckets for each power of two
+	private static final int LINEAR_BUCKETS = 16;
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int FIRST_EXPONENT = 4;
+	private static final int BUCKETS = LINEAR_BUCKETS + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * This method adds one latency.
+	 * @param nanos the latency in nanoseconds, negative counts as 0.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(bucketOf(value));
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	/**
+	 * This method returns the number of latencies recorded.
+	 * @return the count.
+	 */
+	public long count() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * This method returns the average latency.
+	 * @return the mean in nanoseconds, 0 if nothing was recorded.
+	 */
+	public long mean() {
+		long count = count();
+		return count == 0 ? 0 : total.sum() / count;
+	}
+
+	/**
+	 * This method returns the largest latency recorded.
+	 * @return the max in nanoseconds.
+	 */
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * This method returns the latency that a share of the recorded 
+	 * latencies do not exceed, rounded up to the end of its bucket.
+	 * @param percentile the share, from 0 to 100
+	 * @return the latency in nanoseconds, 0 if nothing was recorded.
+	 */
+	public long percentile(double percentile) {
+		long[] snapshot = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			count += snapshot[i];
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max());
+			}
+		}
+		return max();
+	}
+
+	/**
+	 * This method forgets every latency recorded.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		total.reset();
+		max.reset();
+	}
+
+	/**
+	 * This method returns the bucket of a latency.
+	 */
+	static int bucketOf(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * This method returns the largest latency that goes into a bucket.
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < LINEAR_BUCKETS) {
+			return bucket;
+		}
+		int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + FIRST_EXPONENT;
+		int sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return (SUB_BUCKETS + sub) * width + width - 1;
+	}
+}
@@ -0,0 +1,75 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: AnswerPlanes.java
+ * PURPOSE: This class holds a list of answers for the BulkScorer. Next to
+ * the packed words it keeps one byte array per slot with the letter of 
+ * every answer at that slot, so that a slot of many answers can be loaded
+ * into a vector register at once.
+ */
+public final class AnswerPlanes {
+	private final int[] packedWords;
+	private final byte[][] planes;
+
+	private AnswerPlanes(int[] packedWords) {
+		this.packedWords = packedWords;
+		planes = new byte[PackedWord.WORD_LENGTH][packedWords.length];
+		for (int i = 0; i < packedWords.length; i++) {
+			int packed = packedWords[i];
+			for (int position = PackedWord.WORD_LENGTH - 1; position >= 0; position--) {
+				planes[position][i] = (byte) (packed % PackedWord.ALPHABET_SIZE);
+				packed /= PackedWord.ALPHABET_SIZE;
+			}
+		}
+	}
+
+	/**
+	 * This method makes the planes of a list of packed answers.
+	 * @param packedWords the packed answers, which are copied
+	 * @return the planes.
+	 */
+	public static AnswerPlanes of(int[] packedWords) {
+		return new AnswerPlanes(packedWords.clone());
+	}
+
+	/**
+	 * This method makes the planes of some words of a dictionary.
+	 * @param dictionary the dictionary
+	 * @param indices the positions of the words in the dictionary
+	 * @return the planes.
+	 */
+	public static AnswerPlanes of(Dictionary dictionary, int[] indices) {
+		int[] packedWords = new int[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			packedWords[i] = dictionary.packedWordAt(indices[i]);
+		}
+		return new AnswerPlanes(packedWords);
+	}
+
+	/**
+	 * This method returns the number of answers.
+	 * @return the number of answers.
+	 */
+	public int size() {
+		return packedWords.length;
+	}
+
+	/**
+	 * This method returns an answer as a packed word.
+	 * @param i the position of the answer
+	 * @return the packed answer.
+	 */
+	public int packedWordAt(int i) {
+		return packedWords[i];
+	}
+
+	/**
+	 * This method returns the letters of every answer at one slot. The
+	 * array must not be changed.
+	 * @param position the slot from 0 to 4
+	 * @return the letters from 0 ('A') to 25 ('Z').
+	 */
+	byte[] plane(int position) {
+		return planes[position];
+	}
+}
@@ -0,0 +1,77 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: BulkScorer.java
+ * PURPOSE: This class scores one guess against many answers in one call,
+ * filling an array with the feedback code (see FeedbackScorer) of each 
+ * answer. best() returns a scorer that uses the SIMD lanes of the 
+ * jdk.incubator.vector module when the JVM was started with it 
+ * (--add-modules jdk.incubator.vector) and the plain scalar scorer 
+ * otherwise. Both give exactly the codes of FeedbackScorer.score.
+ */
+public abstract class BulkScorer {
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+	private static final String VECTOR_SCORER = "model.VectorBulkScorer";
+	private static final BulkScorer SCALAR = new Scalar();
+	private static final BulkScorer BEST = loadBest();
+
+	/**
+	 * This method returns the fastest scorer this JVM can run.
+	 * @return the vector scorer if available, else the scalar scorer.
+	 */
+	public static BulkScorer best() {
+		return BEST;
+	}
+
+	/**
+	 * This method returns the scalar scorer.
+	 * @return the scorer that calls FeedbackScorer.score for each answer.
+	 */
+	public static BulkScorer scalar() {
+		return SCALAR;
+	}
+
+	/**
+	 * This method scores a guess against every answer.
+	 * @param packedGuess the guess as a packed word
+	 * @param answers the answers
+	 * @param codes the array to fill, at least answers.size() long; each
+	 * code is stored as an unsigned byte, read it with {@code & 0xFF}
+	 */
+	public abstract void score(int packedGuess, AnswerPlanes answers, byte[] codes);
+
+	/**
+	 * This method returns the name of the scorer.
+	 * @return a short name.
+	 */
+	public abstract String name();
+
+	private static BulkScorer loadBest() {
+		if (!ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+			return SCALAR;
+		}
+		try {
+			return (BulkScorer) Class.forName(VECTOR_SCORER).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return SCALAR;
+		}
+	}
+
+	/**
+	 * This class is the scalar scorer.
+	 */
+	private static final class Scalar extends BulkScorer {
+		@Override
+		public void score(int packedGuess, AnswerPlanes answers, byte[] codes) {
+			int size = answers.size();
+			for (int i = 0; i < size; i++) {
+				codes[i] = (byte) FeedbackScorer.score(packedGuess, answers.packedWordAt(i));
+			}
+		}
+
+		@Override
+		public String name() {
+			return "scalar";
+		}
+	}
+}
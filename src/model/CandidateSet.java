@@ -0,0 +1,172 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: CandidateSet.java
+ * PURPOSE: This class is the set of answers that are still possible in a
+ * game, kept as a bitset over the words of the dictionary. Each guess
+ * narrows the set by AND-ing in the LetterBitmaps that match its feedback
+ * code, one pass over the blocks of the set, instead of scoring every 
+ * word of the dictionary against every guess again.
+ */
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CandidateSet {
+	// at most one bitmap per slot and two per distinct letter of a guess
+	private static final int MAX_TERMS = 3 * PackedWord.WORD_LENGTH;
+	private final Dictionary dictionary;
+	private final LetterBitmaps bitmaps;
+	private final long[] bits;
+
+	private CandidateSet(Dictionary dictionary, long[] bits) {
+		this.dictionary = dictionary;
+		this.bitmaps = dictionary.bitmaps();
+		this.bits = bits;
+	}
+
+	/**
+	 * This method makes a set that holds every word of a dictionary.
+	 * @param dictionary the dictionary
+	 * @return a new set of all the words.
+	 */
+	public static CandidateSet all(Dictionary dictionary) {
+		int size = dictionary.size();
+		long[] bits = new long[LetterBitmaps.blocksFor(size)];
+		java.util.Arrays.fill(bits, -1L);
+		if ((size & 63) != 0) {
+			bits[bits.length - 1] = (1L << size) - 1;
+		}
+		return new CandidateSet(dictionary, bits);
+	}
+
+	/**
+	 * This method makes an independent copy of the set.
+	 * @return a new set with the same words.
+	 */
+	public CandidateSet copy() {
+		return new CandidateSet(dictionary, bits.clone());
+	}
+
+	/**
+	 * This method keeps only the words that would give the feedback code
+	 * if the guess were made against them.
+	 * @param packedGuess the guess as a packed word
+	 * @param feedbackCode the feedback code the guess got
+	 */
+	public void narrow(int packedGuess, int feedbackCode) {
+		long[][] terms = new long[MAX_TERMS][];
+		boolean[] negated = new boolean[MAX_TERMS];
+		int termCount = 0;
+		int hasIncorrect = 0;
+		int[] letters = new int[PackedWord.WORD_LENGTH];
+		for (int i = 0; i < PackedWord.WORD_LENGTH; i++) {
+			int letter = PackedWord.letterAt(packedGuess, i);
+			int digit = FeedbackScorer.digitAt(feedbackCode, i);
+			letters[i] = letter;
+			// a slot that is not CORRECT can not hold the guessed letter
+			terms[termCount] = bitmaps.withLetterAt(i, letter);
+			negated[termCount++] = digit != FeedbackScorer.CORRECT;
+			if (digit == FeedbackScorer.INCORRECT) {
+				hasIncorrect |= 1 << letter;
+			}
+		}
+		int seen = 0;
+		for (int i = 0; i < PackedWord.WORD_LENGTH; i++) {
+			int letter = letters[i];
+			if ((seen & (1 << letter)) != 0) {
+				continue;
+			}
+			seen |= 1 << letter;
+			int marked = 0;
+			for (int j = i; j < PackedWord.WORD_LENGTH; j++) {
+				if (letters[j] == letter && FeedbackScorer.digitAt(feedbackCode, j) != FeedbackScorer.INCORRECT) {
+					marked += 1;
+				}
+			}
+			// the answer holds the letter at least as often as it was marked,
+			// and exactly as often when one copy of it came back INCORRECT
+			if (marked > 0) {
+				terms[termCount] = bitmaps.withLetterCount(letter, marked);
+				negated[termCount++] = false;
+			}
+			if ((hasIncorrect & (1 << letter)) != 0 && marked < PackedWord.WORD_LENGTH) {
+				terms[termCount] = bitmaps.withLetterCount(letter, marked + 1);
+				negated[termCount++] = true;
+			}
+		}
+		for (int block = 0; block < bits.length; block++) {
+			long mask = bits[block];
+			for (int t = 0; t < termCount && mask != 0; t++) {
+				mask &= negated[t] ? ~terms[t][block] : terms[t][block];
+			}
+			bits[block] = mask;
+		}
+	}
+
+	/**
+	 * This method returns if the word at a position is still possible.
+	 * @param index the position of the word in the dictionary
+	 * @return true if the word is in the set.
+	 */
+	public boolean contains(int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * This method returns the number of words in the set.
+	 * @return the number of possible answers.
+	 */
+	public int count() {
+		int count = 0;
+		for (long block : bits) {
+			count += Long.bitCount(block);
+		}
+		return count;
+	}
+
+	/**
+	 * This method returns the position of the next word in the set.
+	 * @param from the position to start looking at
+	 * @return the position of the next word or -1 if there is none.
+	 */
+	public int nextIndex(int from) {
+		int block = from >>> 6;
+		if (block >= bits.length) {
+			return -1;
+		}
+		long word = bits[block] & (-1L << from);
+		while (word == 0) {
+			block += 1;
+			if (block == bits.length) {
+				return -1;
+			}
+			word = bits[block];
+		}
+		return (block << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * This method returns the positions of the words in the set.
+	 * @return the positions in ascending order.
+	 */
+	public int[] toIndices() {
+		int[] indices = new int[count()];
+		int next = 0;
+		for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+			indices[next++] = i;
+		}
+		return indices;
+	}
+
+	/**
+	 * This method returns the words in the set.
+	 * @return a new list of the words in upper case.
+	 */
+	public List<String> toWords() {
+		List<String> words = new ArrayList<String>(count());
+		for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+			words.add(dictionary.wordAt(i));
+		}
+		return words;
+	}
+}
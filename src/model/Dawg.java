@@ -0,0 +1,224 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: Dawg.java
+ * PURPOSE: This class holds the words of a dictionary as a DAWG (directed
+ * acyclic word graph): a trie whose equal subtrees are stored once, so
+ * words that end the same share their endings. A node is two ints, the
+ * bitmask of the letters that follow it (bit 0 for A) and where its
+ * children start in the edge array, and the children of a node are stored
+ * in letter order. Stepping from a node by a letter is a mask test and a
+ * bit count, so a view can check the prefix typed so far one key at a
+ * time. Every word has five letters, so a node reached after five letters
+ * is the final node and a dead prefix is one with no node at all.
+ *
+ * Usage: java model.Dawg [Dictionary.txt]
+ */
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class Dawg {
+	/** The node of a prefix no word starts with. */
+	public static final int DEAD = -1;
+	/** The node reached by a whole word. */
+	public static final int FINAL = 0;
+
+	private final int[] masks;
+	private final int[] firstEdges;
+	private final int[] edges;
+	private final int root;
+
+	private Dawg(int[] masks, int[] firstEdges, int[] edges, int root) {
+		this.masks = masks;
+		this.firstEdges = firstEdges;
+		this.edges = edges;
+		this.root = root;
+	}
+
+	/**
+	 * This is the entry point that prints the size of the DAWG of a
+	 * dictionary next to the words as Strings.
+	 * @param args the text dictionary file, optional.
+	 * @throws IOException if the dictionary cannot be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		Dictionary dictionary = Dictionary.fromTextFile(
+				new File(args.length > 0 ? args[0] : DictionaryRegistry.DEFAULT_FILENAME));
+		long start = System.nanoTime();
+		Dawg dawg = build(dictionary);
+		long micros = (System.nanoTime() - start) / 1000;
+		// a String of 5 Latin-1 letters is a 24 byte String, a 24 byte
+		// array and a 4 byte reference in the list
+		long stringBytes = dictionary.size() * (24L + 24 + 4);
+		System.out.println(dictionary.size() + " words, " + dawg.nodeCount() + " nodes, " + dawg.edgeCount()
+				+ " edges, built in " + micros + " us");
+		System.out.println("DAWG: " + dawg.memoryBytes() + " bytes, packed ints: " + 4L * dictionary.size()
+				+ " bytes, List<String>: about " + stringBytes + " bytes");
+	}
+
+	/**
+	 * This method builds the DAWG of the words of a dictionary. Equal
+	 * subtrees are found bottom up with a table of the nodes made so far.
+	 * @param dictionary the dictionary
+	 * @return the DAWG of its words.
+	 */
+	public static Dawg build(Dictionary dictionary) {
+		int[] words = new int[dictionary.size()];
+		for (int i = 0; i < words.length; i++) {
+			words[i] = dictionary.packedWordAt(i);
+		}
+		Arrays.sort(words);
+		Builder builder = new Builder();
+		int root = builder.node(words, 0, words.length, 0);
+		return new Dawg(Arrays.copyOf(builder.masks, builder.nodeCount),
+				Arrays.copyOf(builder.firstEdges, builder.nodeCount),
+				Arrays.copyOf(builder.edges, builder.edgeCount), root);
+	}
+
+	/**
+	 * This method returns the node of the empty prefix.
+	 * @return the root node.
+	 */
+	public int root() {
+		return root;
+	}
+
+	/**
+	 * This method follows a letter from a node.
+	 * @param node the node of a prefix, or DEAD
+	 * @param letter the letter, upper or lower case
+	 * @return the node of the longer prefix, or DEAD if no word starts
+	 * with it or the letter is not a letter.
+	 */
+	public int step(int node, char letter) {
+		int index = PackedWord.letterIndex(letter);
+		if (node == DEAD || index < 0) {
+			return DEAD;
+		}
+		int mask = masks[node];
+		int bit = 1 << index;
+		if ((mask & bit) == 0) {
+			return DEAD;
+		}
+		return edges[firstEdges[node] + Integer.bitCount(mask & (bit - 1))];
+	}
+
+	/**
+	 * This method follows every letter of a prefix from the root.
+	 * @param prefix the prefix
+	 * @return the node of the prefix, or DEAD if no word starts with it.
+	 */
+	public int walk(CharSequence prefix) {
+		int node = root;
+		for (int i = 0; i < prefix.length() && node != DEAD; i++) {
+			node = step(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	/**
+	 * This method returns if a word is in the DAWG.
+	 * @param word the word
+	 * @return true if the word is there.
+	 */
+	public boolean contains(CharSequence word) {
+		return word.length() == PackedWord.WORD_LENGTH && walk(word) == FINAL;
+	}
+
+	/**
+	 * This method returns the number of nodes.
+	 * @return the node count.
+	 */
+	public int nodeCount() {
+		return masks.length;
+	}
+
+	/**
+	 * This method returns the number of edges.
+	 * @return the edge count.
+	 */
+	public int edgeCount() {
+		return edges.length;
+	}
+
+	/**
+	 * This method returns the bytes held by the arrays of the DAWG.
+	 * @return the size in bytes.
+	 */
+	public long memoryBytes() {
+		return 4L * (masks.length + firstEdges.length + edges.length);
+	}
+
+	/**
+	 * This class grows the arrays of the DAWG while it is built.
+	 */
+	private static final class Builder {
+		private int[] masks = new int[64];
+		private int[] firstEdges = new int[64];
+		private int[] edges = new int[256];
+		private int nodeCount;
+		private int edgeCount;
+		private final Map<List<Integer>, Integer> made = new HashMap<List<Integer>, Integer>();
+
+		Builder() {
+			// node 0 is the final node, it has no children
+			add(0, new int[0], 0);
+		}
+
+		/**
+		 * This method makes the node of the sorted words words[from, to),
+		 * which share their first depth letters, or finds an equal one.
+		 */
+		int node(int[] words, int from, int to, int depth) {
+			if (depth == PackedWord.WORD_LENGTH) {
+				return FINAL;
+			}
+			int mask = 0;
+			int[] children = new int[PackedWord.ALPHABET_SIZE];
+			int childCount = 0;
+			int start = from;
+			while (start < to) {
+				int letter = PackedWord.letterAt(words[start], depth);
+				int end = start + 1;
+				while (end < to && PackedWord.letterAt(words[end], depth) == letter) {
+					end += 1;
+				}
+				mask |= 1 << letter;
+				children[childCount++] = node(words, start, end, depth + 1);
+				start = end;
+			}
+			List<Integer> key = new ArrayList<Integer>(childCount + 1);
+			key.add(mask);
+			for (int i = 0; i < childCount; i++) {
+				key.add(children[i]);
+			}
+			Integer existing = made.get(key);
+			if (existing != null) {
+				return existing;
+			}
+			int node = add(mask, children, childCount);
+			made.put(key, node);
+			return node;
+		}
+
+		private int add(int mask, int[] children, int childCount) {
+			if (nodeCount == masks.length) {
+				masks = Arrays.copyOf(masks, nodeCount * 2);
+				firstEdges = Arrays.copyOf(firstEdges, nodeCount * 2);
+			}
+			while (edgeCount + childCount > edges.length) {
+				edges = Arrays.copyOf(edges, edges.length * 2);
+			}
+			masks[nodeCount] = mask;
+			firstEdges[nodeCount] = edgeCount;
+			System.arraycopy(children, 0, edges, edgeCount, childCount);
+			edgeCount += childCount;
+			return nodeCount++;
+		}
+	}
+}
@@ -0,0 +1,328 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: Dictionary.java
+ * PURPOSE: This class holds the list of valid words of the game as packed
+ * words (see PackedWord). It can be read from the plain text dictionary
+ * file or from a compiled binary dictionary made by DictionaryCompiler.
+ * A compiled dictionary is memory mapped and its words are sorted, so a
+ * lookup is a binary search straight over the mapped buffer. A text
+ * dictionary keeps the file order and is looked up through a 
+ * PackedWordIndex. Either way a Dictionary never changes after it is made.
+ */
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import metrics.DictionaryLoadEvent;
+
+public final class Dictionary {
+	//constants of the compiled file format
+	static final int MAGIC = 0x57524431; // "WRD1"
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 16;
+	/** The extension of a compiled dictionary next to its text file. */
+	public static final String COMPILED_EXTENSION = ".bin";
+
+	private final IntBuffer words;
+	private final PackedWordIndex index;
+	private volatile LetterBitmaps bitmaps;
+	private volatile Dawg dawg;
+
+	private Dictionary(IntBuffer words, PackedWordIndex index) {
+		this.words = words;
+		this.index = index;
+	}
+
+	/**
+	 * This method loads the dictionary for a text file. If a compiled
+	 * dictionary with the same name and the extension ".bin" sits next to
+	 * it, that one is mapped instead. A compiled file that cannot be read,
+	 * or is older than the text file, falls back to the text file.
+	 * @param textFile the text dictionary file
+	 * @return the loaded dictionary.
+	 * @throws FileNotFoundException if neither file can be found.
+	 */
+	public static Dictionary load(File textFile) throws FileNotFoundException {
+		DictionaryLoadEvent event = new DictionaryLoadEvent();
+		event.begin();
+		Dictionary dictionary = null;
+		File compiledFile = compiledFileFor(textFile);
+		if (compiledFile.isFile() && compiledFile.lastModified() < textFile.lastModified()) {
+			System.err.println("Ignoring compiled dictionary " + compiledFile + ", " + textFile + " is newer");
+		}
+		else if (compiledFile.isFile()) {
+			try {
+				dictionary = fromCompiledFile(compiledFile);
+			} catch (IOException e) {
+				System.err.println("Ignoring compiled dictionary " + compiledFile + ": " + e.getMessage());
+			}
+		}
+		boolean compiled = dictionary != null;
+		if (!compiled) {
+			dictionary = fromTextFile(textFile);
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.file = (compiled ? compiledFile : textFile).getPath();
+			event.compiled = compiled;
+			event.words = dictionary.size();
+			event.commit();
+		}
+		return dictionary;
+	}
+
+	/**
+	 * This method reads a text dictionary which has one word on each line.
+	 * Tokens that are not five letter words are skipped.
+	 * @param textFile the text dictionary file
+	 * @return the loaded dictionary.
+	 * @throws FileNotFoundException if the file is not found.
+	 */
+	public static Dictionary fromTextFile(File textFile) throws FileNotFoundException {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(textFile.toPath());
+		} catch (java.nio.file.NoSuchFileException e) {
+			throw new FileNotFoundException(textFile.getPath());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		int[] packedWords = parse(bytes);
+		return new Dictionary(IntBuffer.wrap(packedWords), new PackedWordIndex(packedWords));
+	}
+
+	/**
+	 * This method makes a dictionary from packed words that are already in
+	 * memory, for example a part of another dictionary.
+	 * @param packedWords the packed words, which are copied
+	 * @return the dictionary.
+	 */
+	public static Dictionary of(int[] packedWords) {
+		int[] copy = packedWords.clone();
+		return new Dictionary(IntBuffer.wrap(copy), new PackedWordIndex(copy));
+	}
+
+	/**
+	 * This method maps a compiled dictionary made by DictionaryCompiler.
+	 * The header and the checksum are checked before it is used.
+	 * @param compiledFile the compiled dictionary file
+	 * @return the mapped dictionary.
+	 * @throws IOException if the file cannot be read or is not a valid
+	 * compiled dictionary.
+	 */
+	public static Dictionary fromCompiledFile(File compiledFile) throws IOException {
+		try (FileChannel channel = FileChannel.open(compiledFile.toPath(), StandardOpenOption.READ)) {
+			long length = channel.size();
+			if (length < HEADER_BYTES) {
+				throw new IOException("file is too short");
+			}
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+				throw new IOException("not a compiled dictionary");
+			}
+			int count = mapped.getInt(8);
+			if (count < 0 || length != HEADER_BYTES + 4L * count) {
+				throw new IOException("word count does not match the file size");
+			}
+			ByteBuffer body = mapped.position(HEADER_BYTES).slice();
+			if (checksum(body) != mapped.getInt(12)) {
+				throw new IOException("checksum does not match");
+			}
+			return new Dictionary(body.asIntBuffer(), null);
+		}
+	}
+
+	/**
+	 * This method returns the compiled dictionary file that belongs to a
+	 * text dictionary file.
+	 * @param textFile the text dictionary file
+	 * @return the compiled file, which may not exist.
+	 */
+	public static File compiledFileFor(File textFile) {
+		String name = textFile.getName();
+		int dot = name.lastIndexOf('.');
+		String base = dot > 0 ? name.substring(0, dot) : name;
+		return new File(textFile.getAbsoluteFile().getParentFile(), base + COMPILED_EXTENSION);
+	}
+
+	/**
+	 * This method returns the number of words in the dictionary.
+	 * @return the number of words.
+	 */
+	public int size() {
+		return words.limit();
+	}
+
+	/**
+	 * This method returns a word of the dictionary as a packed word.
+	 * @param i the position of the word
+	 * @return the packed word.
+	 */
+	public int packedWordAt(int i) {
+		return words.get(i);
+	}
+
+	/**
+	 * This method returns a word of the dictionary in upper case.
+	 * @param i the position of the word
+	 * @return the word.
+	 */
+	public String wordAt(int i) {
+		return PackedWord.decode(words.get(i));
+	}
+
+	/**
+	 * This method returns the position of a packed word in the dictionary.
+	 * @param packed the packed word
+	 * @return the position of the word or -1 if it is not in the dictionary.
+	 */
+	public int indexOf(int packed) {
+		if (packed < 0) {
+			return -1;
+		}
+		if (index != null) {
+			return index.indexOf(packed);
+		}
+		int low = 0;
+		int high = words.limit() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int word = words.get(mid);
+			if (word < packed) {
+				low = mid + 1;
+			}
+			else if (word > packed) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This method returns if a word is in the dictionary. Case is ignored
+	 * and nothing is allocated.
+	 * @param word the word to look up
+	 * @return true if the word is valid.
+	 */
+	public boolean contains(CharSequence word) {
+		return indexOf(PackedWord.encode(word)) >= 0;
+	}
+
+	/**
+	 * This method returns the letter bitmaps of the dictionary, building 
+	 * them the first time they are needed.
+	 * @return the letter bitmaps.
+	 */
+	public LetterBitmaps bitmaps() {
+		LetterBitmaps result = bitmaps;
+		if (result == null) {
+			// two threads may both build them, either copy is the same
+			result = new LetterBitmaps(this);
+			bitmaps = result;
+		}
+		return result;
+	}
+
+	/**
+	 * This method returns the DAWG of the dictionary, building it the 
+	 * first time it is needed.
+	 * @return the DAWG of the words.
+	 */
+	public Dawg dawg() {
+		Dawg result = dawg;
+		if (result == null) {
+			// two threads may both build it, either copy is the same
+			result = Dawg.build(this);
+			dawg = result;
+		}
+		return result;
+	}
+
+	/**
+	 * This method starts a query for the words of the dictionary that 
+	 * match some conditions, see WordQuery.
+	 * @return a query that matches every word until conditions are added.
+	 */
+	public WordQuery query() {
+		return new WordQuery(this);
+	}
+
+	/**
+	 * This method returns a checksum of the words of the dictionary in 
+	 * order. Files made from a dictionary store it so that they can tell
+	 * whether they still belong to the dictionary being used.
+	 * @return the CRC32 checksum of the packed words.
+	 */
+	public int fingerprint() {
+		CRC32 crc = new CRC32();
+		byte[] word = new byte[4];
+		for (int i = 0; i < words.limit(); i++) {
+			int packed = words.get(i);
+			word[0] = (byte) (packed >>> 24);
+			word[1] = (byte) (packed >>> 16);
+			word[2] = (byte) (packed >>> 8);
+			word[3] = (byte) packed;
+			crc.update(word);
+		}
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * This method computes the checksum of the words of a compiled file.
+	 * @param body the words of the file
+	 * @return the CRC32 checksum as an int.
+	 */
+	static int checksum(ByteBuffer body) {
+		CRC32 crc = new CRC32();
+		crc.update(body.duplicate());
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * This method reads the words out of the bytes of a text dictionary
+	 * without making a String for each of them.
+	 * @param bytes the bytes of the text file
+	 * @return the packed words in file order.
+	 */
+	static int[] parse(byte[] bytes) {
+		int[] packedWords = new int[bytes.length / (PackedWord.WORD_LENGTH + 1) + 1];
+		int count = 0;
+		int packed = 0;
+		int length = 0;
+		boolean valid = true;
+		for (int i = 0; i <= bytes.length; i++) {
+			char c = i < bytes.length ? (char) (bytes[i] & 0xFF) : ' ';
+			if (Character.isWhitespace(c)) {
+				if (length == PackedWord.WORD_LENGTH && valid) {
+					if (count == packedWords.length) {
+						packedWords = java.util.Arrays.copyOf(packedWords, count * 2);
+					}
+					packedWords[count++] = packed;
+				}
+				packed = 0;
+				length = 0;
+				valid = true;
+				continue;
+			}
+			int letter = PackedWord.letterIndex(c);
+			if (letter < 0) {
+				valid = false;
+			}
+			else {
+				packed = packed * PackedWord.ALPHABET_SIZE + letter;
+			}
+			length += 1;
+		}
+		return java.util.Arrays.copyOf(packedWords, count);
+	}
+}
@@ -0,0 +1,88 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: DictionaryCompiler.java
+ * PURPOSE: This class is a command line tool that compiles the text
+ * dictionary into the binary format read by Dictionary.fromCompiledFile.
+ * The compiled file has a 16 byte header (magic number, version, word
+ * count and a CRC32 checksum of the words) followed by the distinct
+ * packed words in ascending order as big endian ints.
+ * The file is written next to the compiled file under another name and
+ * then renamed over it in one step. A Dictionary that maps the old file
+ * keeps its words until it is dropped, and a reader never sees a file
+ * that is half written.
+ * 
+ * Usage: java model.DictionaryCompiler [Dictionary.txt [Dictionary.bin]]
+ */
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class DictionaryCompiler {
+
+	/**
+	 * This is the entry point of the tool.
+	 * @param args the text file and the output file, both optional.
+	 * @throws IOException if a file cannot be read or written.
+	 */
+	public static void main(String[] args) throws IOException {
+		File textFile = new File(args.length > 0 ? args[0] : "Dictionary.txt");
+		File compiledFile = args.length > 1 ? new File(args[1]) : Dictionary.compiledFileFor(textFile);
+		int count = compile(textFile, compiledFile);
+		System.out.println("Compiled " + count + " words into " + compiledFile);
+	}
+
+	/**
+	 * This method compiles a text dictionary into a binary dictionary.
+	 * @param textFile the text dictionary file
+	 * @param compiledFile the file to write
+	 * @return the number of words written.
+	 * @throws IOException if a file cannot be read or written.
+	 */
+	public static int compile(File textFile, File compiledFile) throws IOException {
+		Dictionary text = Dictionary.fromTextFile(textFile);
+		int[] packedWords = new int[text.size()];
+		for (int i = 0; i < packedWords.length; i++) {
+			packedWords[i] = text.packedWordAt(i);
+		}
+		Arrays.sort(packedWords);
+		int count = 0;
+		for (int i = 0; i < packedWords.length; i++) {
+			if (count == 0 || packedWords[count - 1] != packedWords[i]) {
+				packedWords[count++] = packedWords[i];
+			}
+		}
+		ByteBuffer body = ByteBuffer.allocate(4 * count);
+		body.asIntBuffer().put(packedWords, 0, count);
+		ByteBuffer header = ByteBuffer.allocate(Dictionary.HEADER_BYTES);
+		header.putInt(Dictionary.MAGIC).putInt(Dictionary.VERSION).putInt(count).putInt(Dictionary.checksum(body));
+		header.flip();
+		// the file mapped by loaded dictionaries must never be rewritten in
+		// place, so a new file replaces it
+		Path target = compiledFile.getAbsoluteFile().toPath();
+		Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				while (header.hasRemaining() || body.hasRemaining()) {
+					channel.write(new ByteBuffer[] {header, body});
+				}
+				channel.force(false);
+			}
+			try {
+				Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+		return count;
+	}
+}
@@ -0,0 +1,211 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: DictionaryProvider.java
+ * PURPOSE: This class hands out the latest version of a dictionary file
+ * and reloads it when the file changes, without stopping any game. A
+ * Dictionary never changes, so a reload loads a new one in the background,
+ * builds its indexes, and then publishes it with one atomic reference
+ * swap. Games keep the Dictionary they started with and new games get the
+ * latest one; reading the latest one is a volatile read and never locks.
+ * The directory of the file is watched with a WatchService on a daemon
+ * thread once startWatching is called. Changes to the text file and to its
+ * compiled file (see DictionaryCompiler) both cause a reload.
+ */
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class DictionaryProvider implements AutoCloseable {
+	// how long a changed file is left alone before it is read, so that a
+	// file still being written is read once it is complete
+	private static final long SETTLE_MILLIS = 200;
+
+	private final File textFile;
+	private final AtomicReference<Dictionary> current;
+	private final AtomicLong version = new AtomicLong(1);
+	private volatile WatchService watcher;
+	// when open started and when the first dictionary was ready, System.nanoTime
+	private final long openStartNanos;
+	private final long readyNanos;
+
+	private DictionaryProvider(File textFile, Dictionary dictionary, long openStartNanos) {
+		this.textFile = textFile;
+		this.current = new AtomicReference<Dictionary>(dictionary);
+		this.openStartNanos = openStartNanos;
+		this.readyNanos = System.nanoTime();
+	}
+
+	/**
+	 * This method loads a dictionary file, or its compiled file when that
+	 * is up to date, see Dictionary.load. Its indexes are built before it
+	 * returns, as they are for a reload.
+	 * @param textFile the text dictionary file
+	 * @return the provider of the dictionary.
+	 * @throws FileNotFoundException if the dictionary file is not found.
+	 */
+	public static DictionaryProvider open(File textFile) throws FileNotFoundException {
+		long start = System.nanoTime();
+		return new DictionaryProvider(textFile, buildIndexes(Dictionary.load(textFile)), start);
+	}
+
+	/**
+	 * This method returns when the first dictionary was loaded with its 
+	 * indexes, for timing the start of a program.
+	 * @return the time as a System.nanoTime value.
+	 */
+	public long getReadyNanos() {
+		return readyNanos;
+	}
+
+	/**
+	 * This method returns how long open took to load the first dictionary
+	 * and build its indexes.
+	 * @return the time in nanoseconds.
+	 */
+	public long getOpenNanos() {
+		return readyNanos - openStartNanos;
+	}
+
+	/**
+	 * This method returns the latest version of the dictionary. It never
+	 * blocks.
+	 * @return the latest dictionary.
+	 */
+	public Dictionary current() {
+		return current.get();
+	}
+
+	/**
+	 * This method returns the version of the dictionary, 1 for the first
+	 * load and one more for every reload that changed the words.
+	 * @return the version.
+	 */
+	public long version() {
+		return version.get();
+	}
+
+	/**
+	 * This method loads the file again and publishes it if its words
+	 * changed. It is called by the watching thread, and can be called by
+	 * hand. A file that cannot be read or has no words is ignored and the
+	 * current dictionary stays.
+	 * @return true if a new dictionary was published.
+	 */
+	public boolean reload() {
+		Dictionary loaded;
+		try {
+			loaded = Dictionary.load(textFile);
+		} catch (FileNotFoundException | UncheckedIOException e) {
+			System.err.println("Keeping the current dictionary, " + textFile + " cannot be read: " + e.getMessage());
+			return false;
+		}
+		Dictionary old = current.get();
+		if (loaded.size() == 0) {
+			System.err.println("Keeping the current dictionary, " + textFile + " has no words.");
+			return false;
+		}
+		if (loaded.size() == old.size() && loaded.fingerprint() == old.fingerprint()) {
+			return false;
+		}
+		buildIndexes(loaded);
+		if (!current.compareAndSet(old, loaded)) {
+			// another reload published first, it read the file as late
+			return false;
+		}
+		version.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * This method starts watching the directory of the dictionary file on
+	 * a daemon thread, reloading the dictionary when it changes. Calling it
+	 * again does nothing.
+	 * @throws IOException if the directory cannot be watched.
+	 */
+	public synchronized void startWatching() throws IOException {
+		if (watcher != null) {
+			return;
+		}
+		Path directory = textFile.getAbsoluteFile().getParentFile().toPath();
+		WatchService service = FileSystems.getDefault().newWatchService();
+		directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		watcher = service;
+		Thread thread = new Thread(() -> watch(service), "wordle-dictionary-watch");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * This method stops watching the dictionary file. The current
+	 * dictionary stays usable.
+	 * @throws IOException if the watch service cannot be closed.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (watcher != null) {
+			watcher.close();
+			watcher = null;
+		}
+	}
+
+	/**
+	 * This method builds the lazy indexes of a dictionary before it is
+	 * handed out, so that the first game or keystroke that needs them, 
+	 * maybe on a UI thread, does not wait for them.
+	 * @param dictionary the dictionary
+	 * @return the dictionary.
+	 */
+	private static Dictionary buildIndexes(Dictionary dictionary) {
+		dictionary.bitmaps();
+		dictionary.dawg();
+		return dictionary;
+	}
+
+	/**
+	 * This method waits for changes to the dictionary files and reloads,
+	 * until the watch service is closed.
+	 */
+	private void watch(WatchService service) {
+		String textName = textFile.getName();
+		String compiledName = Dictionary.compiledFileFor(textFile).getName();
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					String name = String.valueOf(event.context());
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW
+							|| name.equals(textName) || name.equals(compiledName)) {
+						changed = true;
+					}
+				}
+				key.reset();
+				if (changed) {
+					// the other events of the same write are folded into one reload
+					Thread.sleep(SETTLE_MILLIS);
+					for (WatchKey more = service.poll(); more != null; more = service.poll()) {
+						more.pollEvents();
+						more.reset();
+					}
+					if (reload()) {
+						System.err.println("Reloaded " + textFile + ": " + current().size()
+								+ " words, version " + version());
+					}
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: DictionaryRegistry.java
+ * PURPOSE: This class keeps the Dictionary that every WordleModel of
+ * the JVM shares. The dictionary file is read the first time a game asks
+ * for it, so starting a new game only has to pick an answer and make its
+ * arrays. The file is then watched by a DictionaryProvider: when it 
+ * changes, new games get the new words and running games keep theirs. 
+ * The registry is safe to use from many threads at once and a Dictionary
+ * it hands out never changes.
+ */
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+public final class DictionaryRegistry {
+	/** The dictionary file that is loaded by default. */
+	public static final String DEFAULT_FILENAME = "Dictionary.txt";
+	private static volatile DictionaryProvider defaultProvider;
+	private static CompletableFuture<DictionaryProvider> backgroundLoad;
+
+	private DictionaryRegistry() {
+	}
+
+	/**
+	 * This method returns the latest version of the shared dictionary,
+	 * loading it the first time it is called.
+	 * @return the shared dictionary.
+	 * @throws FileNotFoundException if the dictionary file is not found.
+	 */
+	public static Dictionary getDefault() throws FileNotFoundException {
+		return getDefaultProvider().current();
+	}
+
+	/**
+	 * This method starts loading the shared dictionary on a daemon thread,
+	 * so a program can show its UI while the file is read. The indexes of
+	 * the dictionary are built on that thread too, see DictionaryProvider.
+	 * Every call returns the same load, unless the load failed, then the
+	 * next call starts a new one.
+	 * @return the load of the provider of the shared dictionary, which 
+	 * fails with FileNotFoundException if the file is not found.
+	 */
+	public static synchronized CompletableFuture<DictionaryProvider> loadInBackground() {
+		if (backgroundLoad == null) {
+			CompletableFuture<DictionaryProvider> load = new CompletableFuture<DictionaryProvider>();
+			if (defaultProvider != null) {
+				load.complete(defaultProvider);
+			}
+			else {
+				Thread thread = new Thread(() -> {
+					try {
+						load.complete(getDefaultProvider());
+					} catch (FileNotFoundException | RuntimeException e) {
+						// forgotten before it fails, so a caller that sees the
+						// failure can try again
+						synchronized (DictionaryRegistry.class) {
+							if (backgroundLoad == load) {
+								backgroundLoad = null;
+							}
+						}
+						load.completeExceptionally(e);
+					}
+				}, "wordle-dictionary-load");
+				thread.setDaemon(true);
+				thread.start();
+			}
+			backgroundLoad = load;
+		}
+		return backgroundLoad;
+	}
+
+	/**
+	 * This method returns the provider of the shared dictionary, loading 
+	 * the dictionary and starting to watch its file the first time it is
+	 * called.
+	 * @return the provider of the shared dictionary.
+	 * @throws FileNotFoundException if the dictionary file is not found.
+	 */
+	public static DictionaryProvider getDefaultProvider() throws FileNotFoundException {
+		DictionaryProvider provider = defaultProvider;
+		if (provider == null) {
+			synchronized (DictionaryRegistry.class) {
+				provider = defaultProvider;
+				if (provider == null) {
+					// a compiled Dictionary.bin is mapped when present, see DictionaryCompiler
+					provider = DictionaryProvider.open(new File(DEFAULT_FILENAME));
+					try {
+						provider.startWatching();
+					} catch (IOException e) {
+						System.err.println("The dictionary will not be reloaded: " + e.getMessage());
+					}
+					defaultProvider = provider;
+				}
+			}
+		}
+		return provider;
+	}
+}
@@ -0,0 +1,178 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: FeedbackScorer.java
+ * PURPOSE: This class scores a guess against an answer. The result for
+ * the five slots is packed into one base-3 feedback code from 0 to 242,
+ * where the digit of each slot is 0 for INCORRECT, 1 for 
+ * CORRECT_WRONG_INDEX and 2 for CORRECT, and the first slot is the most
+ * significant digit. Repeated letters follow the usual counting rule:
+ * exact matches are taken first, then a misplaced letter is only marked
+ * CORRECT_WRONG_INDEX while the answer still has an unmatched copy of it,
+ * left to right. Scoring works on packed words only and allocates nothing;
+ * the INDEX_RESULT arrays the views need are made from a code on demand.
+ */
+import utilities.INDEX_RESULT;
+
+public final class FeedbackScorer {
+	//constants
+	public static final int INCORRECT = 0;
+	public static final int WRONG_INDEX = 1;
+	public static final int CORRECT = 2;
+	/** The number of distinct feedback codes, 3 to the power of 5. */
+	public static final int CODE_COUNT = 243;
+	/** The feedback code of a guess that is the answer. */
+	public static final int ALL_CORRECT = CODE_COUNT - 1;
+	private static final int[] PLACE_VALUE = {81, 27, 9, 3, 1};
+	private static final INDEX_RESULT[] RESULT_OF_DIGIT = {
+			INDEX_RESULT.INCORRECT, INDEX_RESULT.CORRECT_WRONG_INDEX, INDEX_RESULT.CORRECT};
+
+	private FeedbackScorer() {
+	}
+
+	/**
+	 * This method scores a packed guess against a packed answer.
+	 * @param guess the packed guess
+	 * @param answer the packed answer
+	 * @return the feedback code from 0 to 242.
+	 */
+	public static int score(int guess, int answer) {
+		// unpack the letters, last slot first
+		int g4 = guess % 26, a4 = answer % 26;
+		guess /= 26; answer /= 26;
+		int g3 = guess % 26, a3 = answer % 26;
+		guess /= 26; answer /= 26;
+		int g2 = guess % 26, a2 = answer % 26;
+		guess /= 26; answer /= 26;
+		int g1 = guess % 26, a1 = answer % 26;
+		int g0 = guess / 26, a0 = answer / 26;
+
+		// bit i of used is set once slot i of the answer has been matched
+		int used = 0;
+		int code = 0;
+		if (g0 == a0) { used |= 1; code += CORRECT * 81; }
+		if (g1 == a1) { used |= 2; code += CORRECT * 27; }
+		if (g2 == a2) { used |= 4; code += CORRECT * 9; }
+		if (g3 == a3) { used |= 8; code += CORRECT * 3; }
+		if (g4 == a4) { used |= 16; code += CORRECT; }
+		if (used == 31) {
+			return code;
+		}
+		int greens = used;
+		if ((greens & 1) == 0) {
+			int bit = unmatched(g0, a0, a1, a2, a3, a4, used);
+			if (bit != 0) { used |= bit; code += WRONG_INDEX * 81; }
+		}
+		if ((greens & 2) == 0) {
+			int bit = unmatched(g1, a0, a1, a2, a3, a4, used);
+			if (bit != 0) { used |= bit; code += WRONG_INDEX * 27; }
+		}
+		if ((greens & 4) == 0) {
+			int bit = unmatched(g2, a0, a1, a2, a3, a4, used);
+			if (bit != 0) { used |= bit; code += WRONG_INDEX * 9; }
+		}
+		if ((greens & 8) == 0) {
+			int bit = unmatched(g3, a0, a1, a2, a3, a4, used);
+			if (bit != 0) { used |= bit; code += WRONG_INDEX * 3; }
+		}
+		if ((greens & 16) == 0) {
+			int bit = unmatched(g4, a0, a1, a2, a3, a4, used);
+			if (bit != 0) { used |= bit; code += WRONG_INDEX; }
+		}
+		return code;
+	}
+
+	/**
+	 * This method scores a guess against an answer given as words. Case is
+	 * ignored.
+	 * @param guess the guess
+	 * @param answer the answer
+	 * @return the feedback code from 0 to 242.
+	 * @throws IllegalArgumentException if either word is not a five 
+	 * letter word.
+	 */
+	public static int score(CharSequence guess, CharSequence answer) {
+		int packedGuess = PackedWord.encode(guess);
+		int packedAnswer = PackedWord.encode(answer);
+		if (packedGuess < 0 || packedAnswer < 0) {
+			throw new IllegalArgumentException("Both words must be five letter words.");
+		}
+		return score(packedGuess, packedAnswer);
+	}
+
+	/**
+	 * This method returns the digit of one slot of a feedback code.
+	 * @param code the feedback code
+	 * @param position the slot from 0 to 4
+	 * @return INCORRECT, WRONG_INDEX or CORRECT.
+	 */
+	public static int digitAt(int code, int position) {
+		return (code / PLACE_VALUE[position]) % 3;
+	}
+
+	/**
+	 * This method returns the INDEX_RESULT of one slot of a feedback code.
+	 * @param code the feedback code
+	 * @param position the slot from 0 to 4
+	 * @return the result of that slot.
+	 */
+	public static INDEX_RESULT resultAt(int code, int position) {
+		return RESULT_OF_DIGIT[digitAt(code, position)];
+	}
+
+	/**
+	 * This method returns the INDEX_RESULT of a digit.
+	 * @param digit INCORRECT, WRONG_INDEX or CORRECT
+	 * @return the matching result.
+	 */
+	public static INDEX_RESULT resultOfDigit(int digit) {
+		return RESULT_OF_DIGIT[digit];
+	}
+
+	/**
+	 * This method makes the array of INDEX_RESULTs of a feedback code, in
+	 * the form used by Guess.
+	 * @param code the feedback code
+	 * @return a new array with the result of each slot.
+	 */
+	public static INDEX_RESULT[] toIndices(int code) {
+		INDEX_RESULT[] indices = new INDEX_RESULT[PackedWord.WORD_LENGTH];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = resultAt(code, i);
+		}
+		return indices;
+	}
+
+	/**
+	 * This method packs an array of INDEX_RESULTs into a feedback code.
+	 * @param indices the result of each slot
+	 * @return the feedback code.
+	 */
+	public static int fromIndices(INDEX_RESULT[] indices) {
+		int code = 0;
+		for (int i = 0; i < PackedWord.WORD_LENGTH; i++) {
+			code *= 3;
+			if (indices[i] == INDEX_RESULT.CORRECT) {
+				code += CORRECT;
+			}
+			else if (indices[i] == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+				code += WRONG_INDEX;
+			}
+		}
+		return code;
+	}
+
+	/**
+	 * This method finds the first slot of the answer that holds the letter
+	 * and has not been matched yet.
+	 * @return the bit of that slot or 0 if there is none.
+	 */
+	private static int unmatched(int letter, int a0, int a1, int a2, int a3, int a4, int used) {
+		if (a0 == letter && (used & 1) == 0) { return 1; }
+		if (a1 == letter && (used & 2) == 0) { return 2; }
+		if (a2 == letter && (used & 4) == 0) { return 4; }
+		if (a3 == letter && (used & 8) == 0) { return 8; }
+		if (a4 == letter && (used & 16) == 0) { return 16; }
+		return 0;
+	}
+}
@@ -0,0 +1,152 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: HardModeConstraints.java
+ * PURPOSE: This class keeps what the guesses of a game have revealed, as
+ * the rules of hard mode: a letter found in place (green) must be guessed
+ * in that place again, a letter found in the answer (green or yellow) must
+ * be in every later guess as many times as it was found, and a letter found
+ * not to be in the answer may not be guessed again. The rules are compact
+ * masks: the required letter of each position, the minimum count of each
+ * letter with a bitmask of the letters that have one, and a bitmask of the
+ * excluded letters. Adding a guess and checking one look at the five
+ * letters of the guess only, however many guesses were made.
+ */
+public final class HardModeConstraints {
+	private static final int WORD_LENGTH = PackedWord.WORD_LENGTH;
+	// a position whose letter is not known yet
+	private static final int ANY_LETTER = -1;
+
+	// the letter each position must have, or ANY_LETTER
+	private final int[] requiredLetters = { ANY_LETTER, ANY_LETTER, ANY_LETTER, ANY_LETTER, ANY_LETTER };
+	// the minimum count of each letter
+	private final byte[] minCounts = new byte[PackedWord.ALPHABET_SIZE];
+	// the letters whose minimum count is not 0, a bit for each letter
+	private int presentLetters;
+	// the letters that may not be in a guess, a bit for each letter
+	private int excludedLetters;
+	// the letters of the guess being checked or added
+	private final int[] letters = new int[WORD_LENGTH];
+
+	/**
+	 * This method adds what a guess revealed to the constraints.
+	 * @param packedGuess the guess as a packed word
+	 * @param feedbackCode the feedback code of the guess
+	 */
+	public void add(int packedGuess, int feedbackCode) {
+		unpack(packedGuess);
+		int foundLetters = 0;
+		int incorrectLetters = 0;
+		for (int i = 0; i < WORD_LENGTH; i++) {
+			int digit = FeedbackScorer.digitAt(feedbackCode, i);
+			if (digit == FeedbackScorer.INCORRECT) {
+				incorrectLetters |= 1 << letters[i];
+				continue;
+			}
+			if (digit == FeedbackScorer.CORRECT) {
+				requiredLetters[i] = letters[i];
+			}
+			// the count is only taken at the first found copy of a letter
+			int bit = 1 << letters[i];
+			if ((foundLetters & bit) == 0) {
+				foundLetters |= bit;
+				int found = 0;
+				for (int j = i; j < WORD_LENGTH; j++) {
+					if (letters[j] == letters[i] && FeedbackScorer.digitAt(feedbackCode, j) != FeedbackScorer.INCORRECT) {
+						found += 1;
+					}
+				}
+				if (found > minCounts[letters[i]]) {
+					minCounts[letters[i]] = (byte) found;
+				}
+			}
+		}
+		presentLetters |= foundLetters;
+		// a grey letter is only excluded if no copy of it was ever found,
+		// otherwise it only means the answer has no more of it
+		excludedLetters |= incorrectLetters & ~presentLetters;
+	}
+
+	/**
+	 * This method returns if a guess keeps to the constraints.
+	 * @param packedGuess the guess as a packed word
+	 * @return true if the guess may be made in hard mode.
+	 */
+	public boolean allows(int packedGuess) {
+		unpack(packedGuess);
+		int guessLetters = 0;
+		int repeatedLetters = 0;
+		for (int i = 0; i < WORD_LENGTH; i++) {
+			int required = requiredLetters[i];
+			if (required != ANY_LETTER && required != letters[i]) {
+				return false;
+			}
+			int bit = 1 << letters[i];
+			repeatedLetters |= guessLetters & bit;
+			guessLetters |= bit;
+		}
+		if ((guessLetters & excludedLetters) != 0 || (guessLetters & presentLetters) != presentLetters) {
+			return false;
+		}
+		// a letter in the guess once is enough unless more were found
+		for (int i = 0; i < WORD_LENGTH; i++) {
+			int letter = letters[i];
+			if (minCounts[letter] > 1 && countOf(letter, (repeatedLetters & (1 << letter)) != 0) < minCounts[letter]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns the letter a position must have.
+	 * @param position the position, from 0
+	 * @return the letter from 0 for A, or -1 if it is not known.
+	 */
+	public int requiredLetterAt(int position) {
+		return requiredLetters[position];
+	}
+
+	/**
+	 * This method returns how many times a letter must be in a guess.
+	 * @param letter the letter from 0 for A
+	 * @return the minimum count.
+	 */
+	public int minCount(int letter) {
+		return minCounts[letter];
+	}
+
+	/**
+	 * This method returns the letters that may not be guessed.
+	 * @return a bitmask with bit 0 for A.
+	 */
+	public int excludedLetters() {
+		return excludedLetters;
+	}
+
+	/**
+	 * This method returns how many times a letter is in the unpacked guess.
+	 */
+	private int countOf(int letter, boolean repeated) {
+		if (!repeated) {
+			return 1;
+		}
+		int count = 0;
+		for (int i = 0; i < WORD_LENGTH; i++) {
+			if (letters[i] == letter) {
+				count += 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * This method splits a packed word into the letters array.
+	 */
+	private void unpack(int packedWord) {
+		for (int i = WORD_LENGTH - 1; i >= 0; i--) {
+			letters[i] = packedWord % PackedWord.ALPHABET_SIZE;
+			packedWord /= PackedWord.ALPHABET_SIZE;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: LetterBitmaps.java
+ * PURPOSE: This class holds bitmaps over the words of a dictionary, where
+ * bit i of a bitmap stands for the word at position i. There is one 
+ * bitmap for each letter at each position, and one for each letter and
+ * count saying which words hold that letter at least that many times.
+ * Questions about the dictionary are answered by AND-ing these bitmaps
+ * together, 64 words at a time. They are built once per Dictionary, see
+ * Dictionary.bitmaps.
+ */
+public final class LetterBitmaps {
+	private final int wordCount;
+	private final int blockCount;
+	private final long[][] positionLetter;
+	private final long[][] letterCount;
+
+	/**
+	 * This is the constructor. It reads every word of the dictionary once.
+	 * @param dictionary the dictionary to index
+	 */
+	LetterBitmaps(Dictionary dictionary) {
+		wordCount = dictionary.size();
+		blockCount = blocksFor(wordCount);
+		positionLetter = new long[PackedWord.WORD_LENGTH * PackedWord.ALPHABET_SIZE][blockCount];
+		letterCount = new long[PackedWord.ALPHABET_SIZE * PackedWord.WORD_LENGTH][blockCount];
+		int[] counts = new int[PackedWord.ALPHABET_SIZE];
+		for (int word = 0; word < wordCount; word++) {
+			int packed = dictionary.packedWordAt(word);
+			int block = word >>> 6;
+			long bit = 1L << word;
+			for (int position = 0; position < PackedWord.WORD_LENGTH; position++) {
+				int letter = PackedWord.letterAt(packed, position);
+				positionLetter[position * PackedWord.ALPHABET_SIZE + letter][block] |= bit;
+				counts[letter] += 1;
+				letterCount[letter * PackedWord.WORD_LENGTH + counts[letter] - 1][block] |= bit;
+			}
+			for (int position = 0; position < PackedWord.WORD_LENGTH; position++) {
+				counts[PackedWord.letterAt(packed, position)] = 0;
+			}
+		}
+	}
+
+	/**
+	 * This method returns the number of longs needed for a bitmap.
+	 * @param wordCount the number of words
+	 * @return the number of 64 bit blocks.
+	 */
+	static int blocksFor(int wordCount) {
+		return (wordCount + 63) >>> 6;
+	}
+
+	/**
+	 * This method returns the number of words covered by each bitmap.
+	 * @return the number of words of the dictionary.
+	 */
+	public int wordCount() {
+		return wordCount;
+	}
+
+	/**
+	 * This method returns the number of longs in each bitmap.
+	 * @return the number of 64 bit blocks.
+	 */
+	public int blockCount() {
+		return blockCount;
+	}
+
+	/**
+	 * This method returns the bitmap of the words that have a letter at a
+	 * position. The array must not be changed.
+	 * @param position the position from 0 to 4
+	 * @param letter the letter from 0 ('A') to 25 ('Z')
+	 * @return the bitmap of the matching words.
+	 */
+	public long[] withLetterAt(int position, int letter) {
+		return positionLetter[position * PackedWord.ALPHABET_SIZE + letter];
+	}
+
+	/**
+	 * This method returns the bitmap of the words that hold a letter at
+	 * least a number of times. The array must not be changed.
+	 * @param letter the letter from 0 ('A') to 25 ('Z')
+	 * @param count the count from 1 to 5
+	 * @return the bitmap of the matching words.
+	 */
+	public long[] withLetterCount(int letter, int count) {
+		return letterCount[letter * PackedWord.WORD_LENGTH + count - 1];
+	}
+}
@@ -0,0 +1,84 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: PackedWord.java
+ * PURPOSE: This class packs a five letter word into a single int by
+ * reading it as a base-26 number, so 'A' is the digit 0 and 'Z' is the
+ * digit 25 and the first letter is the most significant digit. Packed
+ * words keep the alphabetical order of the words they came from and can
+ * be stored in primitive arrays without any String objects.
+ */
+public final class PackedWord {
+	//constants
+	public static final int WORD_LENGTH = 5;
+	public static final int ALPHABET_SIZE = 26;
+	/** The number of distinct packed words, 26 to the power of 5. */
+	public static final int WORD_SPACE = 26 * 26 * 26 * 26 * 26;
+	/** Returned by encode for anything that is not a five letter word. */
+	public static final int INVALID = -1;
+	private static final int[] PLACE_VALUE = {26 * 26 * 26 * 26, 26 * 26 * 26, 26 * 26, 26, 1};
+
+	private PackedWord() {
+	}
+
+	/**
+	 * This method packs a word of five letters into an int. Upper and lower
+	 * case letters are treated the same. It does not allocate.
+	 * @param word the word to pack
+	 * @return the packed word or INVALID if the word is null, is not five
+	 * characters long or has a character that is not a letter.
+	 */
+	public static int encode(CharSequence word) {
+		if (word == null || word.length() != WORD_LENGTH) {
+			return INVALID;
+		}
+		int packed = 0;
+		for (int i = 0; i < WORD_LENGTH; i++) {
+			int letter = letterIndex(word.charAt(i));
+			if (letter < 0) {
+				return INVALID;
+			}
+			packed = packed * ALPHABET_SIZE + letter;
+		}
+		return packed;
+	}
+
+	/**
+	 * This method turns a packed word back into an upper case String.
+	 * @param packed a packed word
+	 * @return the upper case word.
+	 */
+	public static String decode(int packed) {
+		char[] letters = new char[WORD_LENGTH];
+		for (int i = WORD_LENGTH - 1; i >= 0; i--) {
+			letters[i] = (char) ('A' + packed % ALPHABET_SIZE);
+			packed /= ALPHABET_SIZE;
+		}
+		return new String(letters);
+	}
+
+	/**
+	 * This method returns the letter at a position of a packed word.
+	 * @param packed a packed word
+	 * @param position the position from 0 to 4
+	 * @return the letter as a number from 0 ('A') to 25 ('Z').
+	 */
+	public static int letterAt(int packed, int position) {
+		return (packed / PLACE_VALUE[position]) % ALPHABET_SIZE;
+	}
+
+	/**
+	 * This method returns the alphabet index of a character.
+	 * @param c a character
+	 * @return 0 to 25 for 'A' to 'Z' in either case, -1 for anything else.
+	 */
+	public static int letterIndex(char c) {
+		if (c >= 'A' && c <= 'Z') {
+			return c - 'A';
+		}
+		if (c >= 'a' && c <= 'z') {
+			return c - 'a';
+		}
+		return -1;
+	}
+}
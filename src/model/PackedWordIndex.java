@@ -0,0 +1,89 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: PackedWordIndex.java
+ * PURPOSE: This class is a hash index over packed words (see PackedWord).
+ * It maps every packed word to its position in the word list using open
+ * addressing with linear probing over two int arrays, so a lookup never
+ * hashes a String and never boxes an Integer. It is filled once when the
+ * dictionary is loaded and only read after that.
+ */
+public final class PackedWordIndex {
+	private static final int EMPTY = -1;
+	private final int[] keys;
+	private final int[] values;
+	private final int mask;
+	private final int shift;
+	private final int size;
+
+	/**
+	 * This is the constructor. The position of each word in the index is
+	 * its position in the given array. If a word is repeated the first
+	 * position is kept.
+	 * @param packedWords the packed words to index
+	 */
+	public PackedWordIndex(int[] packedWords) {
+		// keep the table at most half full so probe chains stay short
+		int capacity = Integer.highestOneBit(Math.max(2, packedWords.length) * 2 - 1) << 1;
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		shift = 32 - Integer.numberOfTrailingZeros(capacity);
+		java.util.Arrays.fill(keys, EMPTY);
+		int count = 0;
+		for (int i = 0; i < packedWords.length; i++) {
+			int slot = slot(packedWords[i]);
+			while (keys[slot] != EMPTY && keys[slot] != packedWords[i]) {
+				slot = (slot + 1) & mask;
+			}
+			if (keys[slot] == EMPTY) {
+				keys[slot] = packedWords[i];
+				values[slot] = i;
+				count += 1;
+			}
+		}
+		size = count;
+	}
+
+	/**
+	 * This method returns the position of a packed word in the word list.
+	 * @param packed a packed word
+	 * @return the position of the word or -1 if it is not in the index.
+	 */
+	public int indexOf(int packed) {
+		if (packed < 0) {
+			return -1;
+		}
+		int slot = slot(packed);
+		while (keys[slot] != EMPTY) {
+			if (keys[slot] == packed) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * This method returns if a word is in the index. Case is ignored and
+	 * nothing is allocated.
+	 * @param word the word to look up
+	 * @return true if the word is in the index.
+	 */
+	public boolean contains(CharSequence word) {
+		return indexOf(PackedWord.encode(word)) >= 0;
+	}
+
+	/**
+	 * This method returns the number of distinct words in the index.
+	 * @return the number of distinct words.
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int slot(int packed) {
+		// Fibonacci hashing spreads the dense base-26 keys over the table
+		return (packed * 0x9E3779B9) >>> shift;
+	}
+}
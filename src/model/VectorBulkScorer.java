@@ -0,0 +1,93 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: VectorBulkScorer.java
+ * PURPOSE: This class is the BulkScorer that uses the Vector API. Each
+ * vector holds one slot of as many answers as the preferred species has
+ * byte lanes, and the counting rule of FeedbackScorer is run on all of 
+ * them at once with lane masks: exact matches first, then for each slot
+ * of the guess the first unmatched slot of the answer with that letter.
+ * The code is summed in byte lanes; it never goes above 242, so reading
+ * the bytes back as unsigned gives the right code. It is only loaded by
+ * BulkScorer.best when the jdk.incubator.vector module is present.
+ */
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorBulkScorer extends BulkScorer {
+	private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+	private static final int[] PLACE_VALUE = {81, 27, 9, 3, 1};
+
+	@Override
+	public void score(int packedGuess, AnswerPlanes answers, byte[] codes) {
+		int size = answers.size();
+		byte[] plane0 = answers.plane(0);
+		byte[] plane1 = answers.plane(1);
+		byte[] plane2 = answers.plane(2);
+		byte[] plane3 = answers.plane(3);
+		byte[] plane4 = answers.plane(4);
+		byte[] guess = new byte[PackedWord.WORD_LENGTH];
+		for (int position = 0; position < guess.length; position++) {
+			guess[position] = (byte) PackedWord.letterAt(packedGuess, position);
+		}
+		int bound = SPECIES.loopBound(size);
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			ByteVector a0 = ByteVector.fromArray(SPECIES, plane0, i);
+			ByteVector a1 = ByteVector.fromArray(SPECIES, plane1, i);
+			ByteVector a2 = ByteVector.fromArray(SPECIES, plane2, i);
+			ByteVector a3 = ByteVector.fromArray(SPECIES, plane3, i);
+			ByteVector a4 = ByteVector.fromArray(SPECIES, plane4, i);
+			VectorMask<Byte> green0 = a0.compare(VectorOperators.EQ, guess[0]);
+			VectorMask<Byte> green1 = a1.compare(VectorOperators.EQ, guess[1]);
+			VectorMask<Byte> green2 = a2.compare(VectorOperators.EQ, guess[2]);
+			VectorMask<Byte> green3 = a3.compare(VectorOperators.EQ, guess[3]);
+			VectorMask<Byte> green4 = a4.compare(VectorOperators.EQ, guess[4]);
+			ByteVector code = ByteVector.zero(SPECIES)
+					.add((byte) (FeedbackScorer.CORRECT * 81), green0)
+					.add((byte) (FeedbackScorer.CORRECT * 27), green1)
+					.add((byte) (FeedbackScorer.CORRECT * 9), green2)
+					.add((byte) (FeedbackScorer.CORRECT * 3), green3)
+					.add((byte) FeedbackScorer.CORRECT, green4);
+			// used_j is set once slot j of the answer has been matched
+			VectorMask<Byte> used0 = green0;
+			VectorMask<Byte> used1 = green1;
+			VectorMask<Byte> used2 = green2;
+			VectorMask<Byte> used3 = green3;
+			VectorMask<Byte> used4 = green4;
+			for (int position = 0; position < PackedWord.WORD_LENGTH; position++) {
+				byte letter = guess[position];
+				VectorMask<Byte> green = position == 0 ? green0 : position == 1 ? green1
+						: position == 2 ? green2 : position == 3 ? green3 : green4;
+				VectorMask<Byte> open = green.not();
+				VectorMask<Byte> take0 = a0.compare(VectorOperators.EQ, letter).and(open).andNot(used0);
+				VectorMask<Byte> found = take0;
+				VectorMask<Byte> take1 = a1.compare(VectorOperators.EQ, letter).and(open).andNot(used1).andNot(found);
+				found = found.or(take1);
+				VectorMask<Byte> take2 = a2.compare(VectorOperators.EQ, letter).and(open).andNot(used2).andNot(found);
+				found = found.or(take2);
+				VectorMask<Byte> take3 = a3.compare(VectorOperators.EQ, letter).and(open).andNot(used3).andNot(found);
+				found = found.or(take3);
+				VectorMask<Byte> take4 = a4.compare(VectorOperators.EQ, letter).and(open).andNot(used4).andNot(found);
+				found = found.or(take4);
+				used0 = used0.or(take0);
+				used1 = used1.or(take1);
+				used2 = used2.or(take2);
+				used3 = used3.or(take3);
+				used4 = used4.or(take4);
+				code = code.add((byte) (FeedbackScorer.WRONG_INDEX * PLACE_VALUE[position]), found);
+			}
+			code.intoArray(codes, i);
+		}
+		for (; i < size; i++) {
+			codes[i] = (byte) FeedbackScorer.score(packedGuess, answers.packedWordAt(i));
+		}
+	}
+
+	@Override
+	public String name() {
+		return "vector-" + SPECIES.length() + "x8";
+	}
+}
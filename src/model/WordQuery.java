@@ -0,0 +1,236 @@
+package model;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: WordQuery.java
+ * PURPOSE: This class finds the words of a dictionary that match a set of
+ * conditions, such as "matches ?R??E, contains A, has no S or T, and has
+ * no A at position 1". Each condition is a bitmap of the LetterBitmaps of
+ * the dictionary, or its complement, and the answer is their intersection,
+ * worked out 64 words at a time. Nothing is worked out until count or the
+ * iterators are called, and the iterators only work out the next 64 words
+ * when they need them, so the first matches of a large dictionary come
+ * back at once. Positions count from 0.
+ *
+ * Usage: dictionary.query().pattern("?R??E").contains('A').excludes("ST").notAt(1, 'A').count()
+ */
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public final class WordQuery implements Iterable<String> {
+	/** The character of a pattern that matches any letter. */
+	public static final char ANY = '?';
+
+	private final Dictionary dictionary;
+	private final LetterBitmaps bitmaps;
+	private final List<long[]> required = new ArrayList<long[]>();
+	private final List<long[]> forbidden = new ArrayList<long[]>();
+
+	/**
+	 * This is the constructor of a query that matches every word. It is
+	 * made by Dictionary.query.
+	 * @param dictionary the dictionary to search
+	 */
+	WordQuery(Dictionary dictionary) {
+		this.dictionary = dictionary;
+		this.bitmaps = dictionary.bitmaps();
+	}
+
+	/**
+	 * This method keeps the words that match a pattern of five characters,
+	 * where a letter must be at its position and ? matches any letter.
+	 * @param pattern the pattern such as "?R??E"
+	 * @return this query.
+	 * @throws IllegalArgumentException if the pattern is not 5 letters or ?.
+	 */
+	public WordQuery pattern(String pattern) {
+		if (pattern.length() != PackedWord.WORD_LENGTH) {
+			throw new IllegalArgumentException("A pattern must have 5 characters.");
+		}
+		for (int position = 0; position < PackedWord.WORD_LENGTH; position++) {
+			char c = pattern.charAt(position);
+			if (c != ANY) {
+				at(position, c);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * This method keeps the words that have a letter at a position.
+	 * @param position the position from 0 to 4
+	 * @param letter the letter
+	 * @return this query.
+	 */
+	public WordQuery at(int position, char letter) {
+		required.add(bitmaps.withLetterAt(checkPosition(position), letterOf(letter)));
+		return this;
+	}
+
+	/**
+	 * This method keeps the words that do not have a letter at a position.
+	 * @param position the position from 0 to 4
+	 * @param letter the letter
+	 * @return this query.
+	 */
+	public WordQuery notAt(int position, char letter) {
+		forbidden.add(bitmaps.withLetterAt(checkPosition(position), letterOf(letter)));
+		return this;
+	}
+
+	/**
+	 * This method keeps the words that have a letter anywhere.
+	 * @param letter the letter
+	 * @return this query.
+	 */
+	public WordQuery contains(char letter) {
+		return containsAtLeast(letter, 1);
+	}
+
+	/**
+	 * This method keeps the words that have a letter at least a number of
+	 * times.
+	 * @param letter the letter
+	 * @param count the count from 1 to 5
+	 * @return this query.
+	 */
+	public WordQuery containsAtLeast(char letter, int count) {
+		if (count < 1 || count > PackedWord.WORD_LENGTH) {
+			throw new IllegalArgumentException("A count must be from 1 to 5.");
+		}
+		required.add(bitmaps.withLetterCount(letterOf(letter), count));
+		return this;
+	}
+
+	/**
+	 * This method keeps the words that have none of the given letters.
+	 * @param letters the letters, such as "ST"
+	 * @return this query.
+	 */
+	public WordQuery excludes(CharSequence letters) {
+		for (int i = 0; i < letters.length(); i++) {
+			forbidden.add(bitmaps.withLetterCount(letterOf(letters.charAt(i)), 1));
+		}
+		return this;
+	}
+
+	/**
+	 * This method counts the matching words.
+	 * @return the number of matching words.
+	 */
+	public int count() {
+		long[][] terms = required.toArray(new long[0][]);
+		long[][] negated = forbidden.toArray(new long[0][]);
+		int count = 0;
+		for (int block = 0; block < bitmaps.blockCount(); block++) {
+			count += Long.bitCount(evaluate(terms, negated, block));
+		}
+		return count;
+	}
+
+	/**
+	 * This method returns the dictionary indices of the matching words in
+	 * order, working them out as they are asked for.
+	 * @return an iterator over the indices.
+	 */
+	public PrimitiveIterator.OfInt indexIterator() {
+		long[][] terms = required.toArray(new long[0][]);
+		long[][] negated = forbidden.toArray(new long[0][]);
+		return new PrimitiveIterator.OfInt() {
+			private int block = -1;
+			private long bits;
+
+			@Override
+			public boolean hasNext() {
+				while (bits == 0) {
+					block += 1;
+					if (block >= bitmaps.blockCount()) {
+						return false;
+					}
+					bits = evaluate(terms, negated, block);
+				}
+				return true;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				int index = (block << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				return index;
+			}
+		};
+	}
+
+	/**
+	 * This method returns the matching words in upper case in dictionary
+	 * order, working them out as they are asked for.
+	 * @return an iterator over the words.
+	 */
+	@Override
+	public Iterator<String> iterator() {
+		PrimitiveIterator.OfInt indices = indexIterator();
+		return new Iterator<String>() {
+			@Override
+			public boolean hasNext() {
+				return indices.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return dictionary.wordAt(indices.nextInt());
+			}
+		};
+	}
+
+	/**
+	 * This method returns the matching words in upper case.
+	 * @return a new list of the words.
+	 */
+	public List<String> toList() {
+		List<String> words = new ArrayList<String>();
+		for (String word : this) {
+			words.add(word);
+		}
+		return words;
+	}
+
+	/**
+	 * This method works out which of 64 words match every condition. The
+	 * required bitmaps go first, so a block with no match stops early.
+	 */
+	private long evaluate(long[][] terms, long[][] negated, int block) {
+		long bits = block == bitmaps.blockCount() - 1 ? lastBlockMask() : -1L;
+		for (int i = 0; i < terms.length && bits != 0; i++) {
+			bits &= terms[i][block];
+		}
+		for (int i = 0; i < negated.length && bits != 0; i++) {
+			bits &= ~negated[i][block];
+		}
+		return bits;
+	}
+
+	private long lastBlockMask() {
+		int used = bitmaps.wordCount() & 63;
+		return used == 0 ? -1L : (1L << used) - 1;
+	}
+
+	private static int checkPosition(int position) {
+		if (position < 0 || position >= PackedWord.WORD_LENGTH) {
+			throw new IllegalArgumentException("A position must be from 0 to 4.");
+		}
+		return position;
+	}
+
+	private static int letterOf(char c) {
+		int letter = PackedWord.letterIndex(c);
+		if (letter < 0) {
+			throw new IllegalArgumentException("'" + c + "' is not a letter.");
+		}
+		return letter;
+	}
+}
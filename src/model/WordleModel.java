@@ -4,41 +4,93 @@ package model;
  * FILE: WordleModel.java
  * PURPOSE: This class is the model class of the MVC Architecture.
  * This class makes necessary data structures after each guess has been 
- * made. It extends observable class of the observer- obervable design pattern.
- * The text based UI and the GUI based UI are its observers in corresponding 
- * circumstances. It also throws exceptions for any invalid input guesses as determined
+ * made. It publishes what changed after each guess as events on its
+ * GameEventBus, and the text based UI and the GUI based UI listen to it in 
+ * corresponding circumstances. It also throws exceptions for any invalid input guesses as determined
  * by the user. It also loads in the dictionary file which is the list of 
  * valid words and selects a random answer.
  */
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicLong;
+import event.GameEventBus;
+import event.GameOver;
+import event.GuessEvaluated;
 import exception.invalidGuessException;
+import metrics.EventDispatchEvent;
+import metrics.GameMetrics;
+import metrics.GameOverEvent;
+import metrics.GuessScoringEvent;
+import metrics.GuessValidationEvent;
+import utilities.GUESS_RESULT;
 import utilities.Guess;
 import utilities.INDEX_RESULT;
 
-public class WordleModel extends java.util.Observable{
+public class WordleModel {
 	//fields and constants
-	private static final String FILENAME = "dictionary.txt";
 	private INDEX_RESULT[] guessedCharacters;
 	private String answer;
 	private Guess[] progress;
-	private List<String> validWordList;
-	private Scanner inDictionaryFile;
+	private int[] packedGuesses;
+	private int[] feedbackCodes;
+	private int packedAnswer;
+	private CandidateSet candidates;
+	private final HardModeConstraints constraints = new HardModeConstraints();
+	private boolean hardMode;
+	private boolean gameOver;
+	private final GameEventBus events;
+	private final Dictionary dictionary;
+	private final long sessionId = SESSION_IDS.incrementAndGet();
 	private  Random random_method;
 	private static final int WORD_LENGTH = 5;
 	private static final int TOTAL_LETTERS = 26;
 	private static final int maxGuesses = 6;
+	private static final int NO_GUESS = -1;
+	// seeded from the clock so that games of different runs get different ids
+	private static final AtomicLong SESSION_IDS = new AtomicLong(System.currentTimeMillis() * 1000);
 
 	/**
-	 * This is the constructor for the wordleModel class 
+	 * This is the constructor for the wordleModel class. It uses the
+	 * dictionary shared by every game of the JVM.
 	 * @throws FileNotFoundException if the dictionary file 
 	 * is not found.
 	 */
 	public WordleModel() throws FileNotFoundException{
+		this(DictionaryRegistry.getDefault());
+	}
+	
+	/**
+	 * This is the constructor for a game that uses the given dictionary.
+	 * @param dictionary the dictionary of valid words and answers.
+	 */
+	public WordleModel(Dictionary dictionary) {
+		this(dictionary, (String) null);
+	}
+	
+	/**
+	 * This is the constructor for a game with a chosen answer, used to 
+	 * replay or simulate games.
+	 * @param dictionary the dictionary of valid words and answers.
+	 * @param answer the answer, or null to pick one at random.
+	 * @throws IllegalArgumentException if the answer is not in the dictionary.
+	 */
+	public WordleModel(Dictionary dictionary, String answer) {
+		this(dictionary, answer, new GameEventBus());
+	}
+	
+	/**
+	 * This is the constructor for a game that publishes its events on a 
+	 * bus its listeners already subscribed to, such as the bus of a 
+	 * controller that made the game after its view was shown.
+	 * @param dictionary the dictionary of valid words and answers.
+	 * @param events the bus to publish the events of the game on.
+	 */
+	public WordleModel(Dictionary dictionary, GameEventBus events) {
+		this(dictionary, null, events);
+	}
+	
+	private WordleModel(Dictionary dictionary, String answer, GameEventBus events) {
 		/**
 		 * Maintains an array of INDEX_RESULTs for the guessed characters. There
 		 * should be 26 indices in this array, one for each character in the English
@@ -47,49 +99,221 @@ public class WordleModel extends java.util.Observable{
 		 */
 		guessedCharacters = new INDEX_RESULT[TOTAL_LETTERS];
 		progress = new Guess[maxGuesses];
-		inDictionaryFile = new Scanner(new File("Dictionary.txt"));
-		validWordList = validWordList(inDictionaryFile);
-		random_method = new Random();
-		answer = selectRandomAnswer(inDictionaryFile);
-		answer = answer.toUpperCase();	
+		packedGuesses = new int[maxGuesses];
+		feedbackCodes = new int[maxGuesses];
+		java.util.Arrays.fill(packedGuesses, NO_GUESS);
+		this.dictionary = dictionary;
+		this.events = events;
+		if (answer == null) {
+			random_method = new Random();
+			answer = selectRandomAnswer(dictionary);
+		}
+		else if (!dictionary.contains(answer)) {
+			throw new IllegalArgumentException("The answer must be a word of the dictionary.");
+		}
+		this.answer = answer.toUpperCase();	
+		packedAnswer = PackedWord.encode(this.answer);
+		candidates = CandidateSet.all(dictionary);
 	}
 	
 	/**
 	 * This method is called when a guess is made. It throws exceptions
 	 * for the invalid user guesses and it is handled in the classes that
-	 * calls this method. It calls set changed method and notify the observers
-	 * of any changes.
+	 * calls this method. It publishes a GuessEvaluated event, and a GameOver
+	 * event when the guess ends the game.
 	 * @param guess a String which is the user Guess
 	 * @param guessNumber an integer  which is the guess number
 	 * @throws invalidGuessException thrown when the input guess is invalid.
 	 */
 	public void makeGuess(int guessNumber, String guess) throws  invalidGuessException {
-		guess = guess.toUpperCase();
+		GUESS_RESULT result = tryGuess(guessNumber, guess);
+		if (result != GUESS_RESULT.OK) {
+			throw invalidGuessException.forResult(result);
+		}
+	}
+	
+	/**
+	 * This method makes a guess like makeGuess, but returns why an invalid
+	 * guess was rejected instead of throwing. Rejecting a guess allocates
+	 * nothing, so callers that expect many invalid guesses, such as bots,
+	 * should use this method.
+	 * @param guessNumber an integer  which is the guess number
+	 * @param guess a String which is the user Guess
+	 * @return OK if the guess was made, otherwise why it was rejected.
+	 */
+	public GUESS_RESULT tryGuess(int guessNumber, String guess) {
+		// GameMetrics.ENABLED is a constant, the JIT drops the measuring when it is off
+		long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+		// the flight recorder events cost a check of a flag unless a 
+		// recording has them enabled
+		GuessValidationEvent validation = new GuessValidationEvent();
+		validation.begin();
+		// a game that is over keeps its last state, and no more than six
+		// guesses fit in it
+		if (gameOver || guessNumber < 0 || guessNumber >= maxGuesses) {
+			return reject(validation, guessNumber, guess, GUESS_RESULT.GAME_OVER);
+		}
+		// the guess is checked as it is, upper casing it would allocate
 		if (!isCorrectLength(guess)) {
-			 throw new invalidGuessException("You must make a guess of 5 letter words"); 
+			return reject(validation, guessNumber, guess, GUESS_RESULT.WRONG_LENGTH);
 		}
 		if (!isAlphaa(guess)) { 
-			 throw new invalidGuessException("You must make an alphatical guess"); 
+			return reject(validation, guessNumber, guess, GUESS_RESULT.NON_ALPHA);
 		} 
-		boolean isValidWord = isValidWord(validWordList, guess); 
+		int packedGuess = PackedWord.encode(guess);
+		long validationStart = GameMetrics.ENABLED ? System.nanoTime() : 0;
+		boolean isValidWord = isValidWord(dictionary, packedGuess); 
+		if (GameMetrics.ENABLED) {
+			GameMetrics.get().validated(System.nanoTime() - validationStart);
+		}
 		if (!(isValidWord)){ 
-			throw new invalidGuessException("You must guess a valid word"); 
+			return reject(validation, guessNumber, guess, GUESS_RESULT.NOT_IN_DICTIONARY);
+		}
+		if (hardMode && !constraints.allows(packedGuess)) {
+			return reject(validation, guessNumber, guess, GUESS_RESULT.HARD_MODE_VIOLATION);
+		}
+		commitValidation(validation, guessNumber, guess, GUESS_RESULT.OK);
+		// the guess is scored once into a feedback code, the Guess object
+		// for the views is only made when getProgress asks for it.
+		GuessScoringEvent scoring = new GuessScoringEvent();
+		scoring.begin();
+		int feedbackCode = updateIndices(packedGuess);
+		int changedLetters = updateGuessedCharacters(packedGuess, feedbackCode);
+		packedGuesses[guessNumber] = packedGuess;
+		feedbackCodes[guessNumber] = feedbackCode;
+		progress[guessNumber] = null;
+		candidates.narrow(packedGuess, feedbackCode);
+		constraints.add(packedGuess, feedbackCode);
+		scoring.end();
+		if (scoring.shouldCommit()) {
+			scoring.sessionId = sessionId;
+			scoring.guessNumber = guessNumber;
+			scoring.feedbackCode = feedbackCode;
+			scoring.candidateCount = candidates.count();
+			scoring.commit();
+		}
+		boolean won = feedbackCode == FeedbackScorer.ALL_CORRECT;
+		boolean over = won || guessNumber == maxGuesses - 1;
+		gameOver = over;
+		// the listeners are notified of the changes which updates the 
+		// display to the user based on the changes.
+		if (events.hasSubscribers()) {
+			long notificationStart = GameMetrics.ENABLED ? System.nanoTime() : 0;
+			EventDispatchEvent dispatch = new EventDispatchEvent();
+			dispatch.begin();
+			events.publish(new GuessEvaluated(guessNumber, packedGuess, feedbackCode, changedLetters));
+			if (over) {
+				events.publish(new GameOver(guessNumber, won, answer));
+			}
+			dispatch.end();
+			if (dispatch.shouldCommit()) {
+				dispatch.sessionId = sessionId;
+				dispatch.guessNumber = guessNumber;
+				dispatch.events = over ? 2 : 1;
+				dispatch.commit();
+			}
+			if (GameMetrics.ENABLED) {
+				GameMetrics.get().notified(System.nanoTime() - notificationStart);
+			}
+		}
+		if (over) {
+			GameOverEvent gameOverEvent = new GameOverEvent();
+			if (gameOverEvent.shouldCommit()) {
+				gameOverEvent.sessionId = sessionId;
+				gameOverEvent.guessCount = guessNumber + 1;
+				gameOverEvent.outcome = won ? "WON" : "LOST";
+				gameOverEvent.answer = answer;
+				gameOverEvent.candidateCount = candidates.count();
+				gameOverEvent.commit();
+			}
 		}
-		boolean isGuessCorrect = false;
-		if (guess.toUpperCase().equals(answer.toUpperCase())){
-			isGuessCorrect = true;
+		if (GameMetrics.ENABLED) {
+			GameMetrics.get().guessMade(System.nanoTime() - start);
 		}
-		// the guess characters and game display is updated after each guess.
-		updateGuessedCharacters(guess);
-		INDEX_RESULT[] curGuessIndices = updateIndices(guess, answer);
-		Guess curGuess = new Guess(guess, curGuessIndices, isGuessCorrect);
-		progress[guessNumber]=curGuess;
-		//set changed and all the observers of this observable are
-		// notified of the changes which updates the display to the user 
-		// based on the changes.
-		setChanged();
-		notifyObservers();	
+		return GUESS_RESULT.OK;
 	}
+	
+	/**
+	 * This method counts a rejected guess in the metrics and the flight
+	 * recorder.
+	 * @param validation the event begun when the check started
+	 * @param guessNumber the guess number
+	 * @param guess the guess
+	 * @param result why the guess was rejected
+	 * @return the result.
+	 */
+	private GUESS_RESULT reject(GuessValidationEvent validation, int guessNumber, String guess, GUESS_RESULT result) {
+		if (GameMetrics.ENABLED) {
+			GameMetrics.get().rejected(result);
+		}
+		commitValidation(validation, guessNumber, guess, result);
+		return result;
+	}
+	
+	/**
+	 * This method ends the flight recorder event of checking a guess and 
+	 * records it if the recording wants it.
+	 * @param validation the event begun when the check started
+	 * @param guessNumber the guess number
+	 * @param guess the guess
+	 * @param outcome OK or why the guess was rejected
+	 */
+	private void commitValidation(GuessValidationEvent validation, int guessNumber, String guess, GUESS_RESULT outcome) {
+		validation.end();
+		if (validation.shouldCommit()) {
+			validation.sessionId = sessionId;
+			validation.guessNumber = guessNumber;
+			validation.guess = guess;
+			validation.outcome = outcome.name();
+			validation.commit();
+		}
+	}
+	
+	/**
+	 * This method turns hard mode on or off. In hard mode every guess must
+	 * use the hints revealed by the guesses before it, see 
+	 * HardModeConstraints. The hints are kept from the start of the game,
+	 * so hard mode can be turned on at any guess.
+	 * @param hardMode true for hard mode
+	 */
+	public void setHardMode(boolean hardMode) {
+		this.hardMode = hardMode;
+	}
+	
+	/**
+	 * This method returns if the game is in hard mode.
+	 * @return true in hard mode.
+	 */
+	public boolean isHardMode() {
+		return hardMode;
+	}
+	
+	/**
+	 * This method returns if the game is over, because the answer was
+	 * guessed or every guess was made. No more guesses are accepted then.
+	 * @return true if the game is over.
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+	
+	/**
+	 * This method returns the bus the events of this game are published on.
+	 * @return the event bus of the game.
+	 */
+	public GameEventBus getEvents() {
+		return events;
+	}
+	
+	/**
+	 * This method returns the id of this game, unique across the games of 
+	 * this and other runs of the program. It identifies the game in logs.
+	 * @return the session id of the game.
+	 */
+	public long getSessionId() {
+		return sessionId;
+	}
+	
 	/**
 	 * This method returns the random generated answer.
 	 * @return a String which is the answer for the game.
@@ -99,6 +323,14 @@ public class WordleModel extends java.util.Observable{
 	}
 	
 	
+	/**
+	 * This method returns the dictionary this game checks guesses against.
+	 * @return the dictionary of the game.
+	 */
+	public Dictionary getDictionary() {
+		return dictionary;
+	}
+	
 	/**
 	 * This method returns the result of the guessed chars.
 	 * @return an array of INDEX_RESULT enum representing 
@@ -115,65 +347,117 @@ public class WordleModel extends java.util.Observable{
 	 * progress of the game.
 	 */
 	public Guess[] getProgress() {
+		for (int i = 0; i < maxGuesses; i++) {
+			if (progress[i] == null && packedGuesses[i] != NO_GUESS) {
+				progress[i] = new Guess(PackedWord.decode(packedGuesses[i]),
+						FeedbackScorer.toIndices(feedbackCodes[i]), 
+						feedbackCodes[i] == FeedbackScorer.ALL_CORRECT);
+			}
+		}
 		return progress;	
 	}
+	
 	/**
-	 * This method updates the Indices, as in the the result of each letter
-	 * of the guess by comparing with each letter of the answer
-	 * @param guess a String which is the user Guess
-	 * @param answer a String which is the answer.
-	 * @return an array of INDEX_RESULT representing the result of each slot 
+	 * This method returns the feedback code of a guess, see FeedbackScorer.
+	 * @param guessNumber the guess number
+	 * @return the feedback code or -1 if that guess has not been made.
 	 */
-	private INDEX_RESULT[] updateIndices(String guess, String answer) {
-		
-		guess = guess.toUpperCase();
-		INDEX_RESULT[] curGuessIndices = new INDEX_RESULT[WORD_LENGTH];
-		for (int i=0; i< WORD_LENGTH; i++) {
-			if (answer.contains("" + guess.charAt(i))){
-				if (answer.charAt(i) == guess.charAt(i)) {
-					curGuessIndices[i] = INDEX_RESULT.CORRECT;
-				}
-				else {
-					curGuessIndices[i] = INDEX_RESULT.CORRECT_WRONG_INDEX;
-				}
-			}
-			else {
-				curGuessIndices[i] = INDEX_RESULT.INCORRECT;
-			}
-		}
-		return curGuessIndices;	
+	public int getFeedbackCode(int guessNumber) {
+		return packedGuesses[guessNumber] == NO_GUESS ? -1 : feedbackCodes[guessNumber];
 	}
+	
 	/**
-	 * This method updates the guessed characters array after every guess
-	 * by comparing the guess with the answer.
-	 * @param guess a String which is the user guess.
+	 * This method returns a guess as a packed word, see PackedWord.
+	 * @param guessNumber the guess number
+	 * @return the packed guess or -1 if that guess has not been made.
+	 */
+	public int getPackedGuess(int guessNumber) {
+		return packedGuesses[guessNumber];
+	}
+	
+	/**
+	 * This method returns the number of answers that agree with every 
+	 * guess made so far.
+	 * @return the number of possible answers.
 	 */
-	private void updateGuessedCharacters(String guess) {
+	public int remainingCount() {
+		return candidates.count();
+	}
+	
+	/**
+	 * This method returns the answers that agree with every guess made so
+	 * far.
+	 * @return a new list of the possible answers in upper case.
+	 */
+	public List<String> remainingCandidates() {
+		return candidates.toWords();
+	}
 	
+	/**
+	 * This method returns a copy of the set of possible answers.
+	 * @return a copy of the candidate set of the game.
+	 */
+	public CandidateSet getCandidateSet() {
+		return candidates.copy();
+	}
+	
+	/**
+	 * This method scores the guess against the answer, as in the result of
+	 * each letter of the guess by comparing with each letter of the answer
+	 * @param packedGuess the user guess as a packed word
+	 * @return the feedback code holding the result of each slot 
+	 */
+	private int updateIndices(int packedGuess) {
+		return FeedbackScorer.score(packedGuess, packedAnswer);
+	}
+	
+	/**
+	 * This method updates the guessed characters array after every guess
+	 * from the result of each slot. A letter keeps the best result it has 
+	 * had so far, so a later guess never turns a CORRECT letter back.
+	 * @param packedGuess the user guess as a packed word
+	 * @param feedbackCode the result of each slot of the guess
+	 * @return a bitmask of the letters whose result changed.
+	 */
+	private int updateGuessedCharacters(int packedGuess, int feedbackCode) {
+		int changedLetters = 0;
 		for (int i = 0; i < WORD_LENGTH; i++) {
-			if (answer.contains("" + guess.charAt(i))){
-				if ((answer.charAt(i)+ "").equals(guess.charAt(i)+"")) {
-					guessedCharacters[guess.charAt(i) - 'A'] = INDEX_RESULT.CORRECT;
-				}
-				else {
-					guessedCharacters[guess.charAt(i) - 'A'] = INDEX_RESULT.CORRECT_WRONG_INDEX;
-				}
-			}
-			else {
-				guessedCharacters[guess.charAt(i) - 'A'] = INDEX_RESULT.INCORRECT;	
+			int letter = PackedWord.letterAt(packedGuess, i);
+			INDEX_RESULT result = FeedbackScorer.resultAt(feedbackCode, i);
+			if (rank(result) > rank(guessedCharacters[letter])) {
+				guessedCharacters[letter] = result;
+				changedLetters |= 1 << letter;
 			}
 		}
+		return changedLetters;
+	}
+	
+	/**
+	 * This method orders the results of a letter for the keyboard.
+	 * @param result a result or null if the letter is not guessed
+	 * @return a higher number for a better result.
+	 */
+	private static int rank(INDEX_RESULT result) {
+		if (result == null) {
+			return 0;
+		}
+		if (result == INDEX_RESULT.INCORRECT) {
+			return 1;
+		}
+		if (result == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+			return 2;
+		}
+		return 3;
 	}
 
 	/**
 	 * This method generates a random answer at random for the game.
-	 * @param dictionaryFile the txt file containing the list of 
-	 * valid words.
+	 * @param dictionary the dictionary of valid words.
 	 * @return String which is the generated random word.
 	 */
-	private String selectRandomAnswer(Scanner dictionaryFile) {
-	    int index = random_method.nextInt(validWordList.size());
-	    String randomAnswer = validWordList.get(index);
+	private String selectRandomAnswer(Dictionary dictionary) {
+	    int index = random_method.nextInt(dictionary.size());
+	    String randomAnswer = dictionary.wordAt(index);
 	    return randomAnswer;
 	}
 	
@@ -213,39 +497,13 @@ public class WordleModel extends java.util.Observable{
 		}
 	}
 	
-	/**
-	 * Returns a list of valid words by iterating over the dictionary file
-	 * @param inDictionaryFile the text file containing the list of 
-	 * valid words.
-	 * @return a list of valid words by iterating over the dictionary file
-	 */
-	private static List<String> validWordList(Scanner inDictionaryFile){
-		
-		
-		List<String> validWordList = new ArrayList<String>();
-		//preparing the answers word lists from the "Dictionary.txt" file
-	    while (inDictionaryFile.hasNext()) {
-	      String word = inDictionaryFile.next().toUpperCase();
-	      validWordList.add(word);
-	    }
-	    return validWordList;
-		
-	}
-	
-	
 	/**
 	 * This method returns if the word is a valid word according to the dictionary
-	 * @param validWordList a array of list of the valid words
-	 * @param word a String to check if it valid word or not.
+	 * @param dictionary the dictionary of valid words
+	 * @param packedWord the word to check as a packed word.
 	 * @return a boolean that represents if the word is valid or not.
 	 */
-	private boolean isValidWord(List<String> validWordList, String word) {
-		
-		for (int i =0; i< validWordList.size(); i++) {
-			if (validWordList.get(i).equals(word)) {
-				return true;
-			}	
-		}	
-		return false;
+	private boolean isValidWord(Dictionary dictionary, int packedWord) {
+		return dictionary.indexOf(packedWord) >= 0;
 	}
 }
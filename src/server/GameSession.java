@@ -0,0 +1,117 @@
+package server;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GameSession.java
+ * PURPOSE: This class is one game hosted by the WordleServer. It wraps a
+ * WordleController of its own and remembers when it was last used so
+ * that idle games can be expired. Requests for the same game are handled
+ * one at a time; different games never wait on each other.
+ */
+import controller.WordleController;
+import utilities.GUESS_RESULT;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+final class GameSession {
+	private final String id;
+	private final WordleController controller;
+	private volatile long lastAccessNanos;
+
+	/**
+	 * GameSession constructor. It starts a new game on the shared 
+	 * dictionary.
+	 * @param id the id of the session
+	 */
+	GameSession(String id) {
+		this.id = id;
+		this.controller = new WordleController();
+		touch();
+	}
+
+	String getId() {
+		return id;
+	}
+
+	long getLastAccessNanos() {
+		return lastAccessNanos;
+	}
+
+	void touch() {
+		lastAccessNanos = System.nanoTime();
+	}
+
+	/**
+	 * This method turns hard mode of the game on or off.
+	 * @param hardMode true for hard mode
+	 */
+	synchronized void setHardMode(boolean hardMode) {
+		controller.setHardMode(hardMode);
+	}
+
+	/**
+	 * This method makes a guess in the game of this session. Invalid 
+	 * guesses are common from clients, so they are returned, not thrown.
+	 * @param guess the guess
+	 * @return OK if the guess was made, GAME_OVER if the game is over, 
+	 * otherwise why it was rejected.
+	 */
+	synchronized GUESS_RESULT tryGuess(String guess) {
+		touch();
+		// checked under the lock of the session, so two guesses racing to
+		// end the game cannot both be made
+		if (controller.isGameOver()) {
+			return GUESS_RESULT.GAME_OVER;
+		}
+		return controller.tryGuess(guess);
+	}
+
+	/**
+	 * This method writes the state of the game as a JSON object. The 
+	 * answer is only included once the game is over.
+	 * @return the JSON text.
+	 */
+	synchronized String toJson() {
+		touch();
+		StringBuilder json = new StringBuilder(512);
+		boolean over = controller.isGameOver();
+		json.append("{\"id\":\"").append(id).append("\",\"guessNumber\":").append(controller.getGuessNumber());
+		json.append(",\"gameOver\":").append(over);
+		json.append(",\"hardMode\":").append(controller.isHardMode());
+		if (over) {
+			json.append(",\"answer\":\"").append(controller.getAnswer()).append('"');
+		}
+		json.append(",\"progress\":[");
+		Guess[] progress = controller.getProgress();
+		boolean first = true;
+		for (Guess guess : progress) {
+			if (guess == null) {
+				continue;
+			}
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			json.append("{\"guess\":\"").append(guess.getGuess()).append("\",\"correct\":").append(guess.getIsCorrect());
+			json.append(",\"indices\":[");
+			INDEX_RESULT[] indices = guess.getIndices();
+			for (int i = 0; i < indices.length; i++) {
+				json.append(i == 0 ? "\"" : ",\"").append(indices[i].name()).append('"');
+			}
+			json.append("]}");
+		}
+		json.append("],\"keyboard\":{");
+		INDEX_RESULT[] guessedCharacters = controller.getGuessedCharacters();
+		first = true;
+		for (int i = 0; i < guessedCharacters.length; i++) {
+			if (guessedCharacters[i] == null) {
+				continue;
+			}
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			json.append('"').append((char) ('A' + i)).append("\":\"").append(guessedCharacters[i].name()).append('"');
+		}
+		return json.append("}}").toString();
+	}
+}
@@ -0,0 +1,121 @@
+package server;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: SessionManager.java
+ * PURPOSE: This class keeps the games hosted by the WordleServer. It holds
+ * at most a fixed number of sessions and a background sweeper removes 
+ * sessions that have not been used for longer than the idle timeout.
+ */
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class SessionManager {
+	private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<String, GameSession>();
+	private final AtomicInteger sessionCount = new AtomicInteger();
+	private final SecureRandom random = new SecureRandom();
+	private final ScheduledExecutorService sweeper;
+	private final int capacity;
+	private final long idleTimeoutNanos;
+
+	/**
+	 * SessionManager constructor. It starts the sweeper.
+	 * @param capacity the largest number of sessions held at once
+	 * @param idleTimeoutSeconds how long a session may go unused
+	 */
+	SessionManager(int capacity, long idleTimeoutSeconds) {
+		this.capacity = capacity;
+		this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+		sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "wordle-session-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1, idleTimeoutSeconds / 4);
+		sweeper.scheduleWithFixedDelay(this::expireIdleSessions, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * This method starts a new session.
+	 * @return the new session or null if the manager is full.
+	 */
+	GameSession create() {
+		int count;
+		do {
+			count = sessionCount.get();
+			if (count >= capacity) {
+				return null;
+			}
+		} while (!sessionCount.compareAndSet(count, count + 1));
+		GameSession session = null;
+		try {
+			while (session == null) {
+				String id = Long.toHexString(random.nextLong() & Long.MAX_VALUE);
+				GameSession candidate = new GameSession(id);
+				if (sessions.putIfAbsent(id, candidate) == null) {
+					session = candidate;
+				}
+			}
+			return session;
+		} finally {
+			if (session == null) {
+				sessionCount.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * This method returns a session by its id.
+	 * @param id the id of the session
+	 * @return the session or null if there is no such session.
+	 */
+	GameSession get(String id) {
+		return sessions.get(id);
+	}
+
+	/**
+	 * This method ends a session.
+	 * @param id the id of the session
+	 * @return true if the session existed.
+	 */
+	boolean remove(String id) {
+		if (sessions.remove(id) != null) {
+			sessionCount.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * This method returns the number of sessions held.
+	 * @return the number of sessions.
+	 */
+	int size() {
+		return sessionCount.get();
+	}
+
+	/**
+	 * This method stops the sweeper.
+	 */
+	void shutdown() {
+		sweeper.shutdownNow();
+	}
+
+	/**
+	 * This method removes every session that has been idle for too long.
+	 */
+	private void expireIdleSessions() {
+		long now = System.nanoTime();
+		Iterator<GameSession> iterator = sessions.values().iterator();
+		while (iterator.hasNext()) {
+			GameSession session = iterator.next();
+			if (now - session.getLastAccessNanos() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+				sessionCount.decrementAndGet();
+			}
+		}
+	}
+}
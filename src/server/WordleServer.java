@@ -0,0 +1,313 @@
+package server;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: WordleServer.java
+ * PURPOSE: This class runs the game without a UI as an HTTP server built
+ * on the JDK's com.sun.net.httpserver. It hosts many independent games at
+ * once, each identified by a session id:
+ * 
+ *   POST   /games                create a game, answers its id, 
+ *                                 ?hard=true plays it in hard mode
+ *   GET    /games/{id}           read the progress and the keyboard
+ *   POST   /games/{id}/guesses   submit a guess, the body is the word
+ *   DELETE /games/{id}           end a game
+ * 
+ * Every request runs on its own virtual thread when the JVM has them and
+ * on a fixed thread pool otherwise. The number of games is capped, idle
+ * games expire, and requests beyond the in-flight limit are turned away
+ * at once with 503 so a busy server sheds load instead of queueing it:
+ * a request only goes to the executor once it holds an in-flight permit,
+ * and one that gets none is answered on the server's dispatcher thread.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.DictionaryRegistry;
+import utilities.GUESS_RESULT;
+
+public class WordleServer {
+	//defaults
+	public static final int DEFAULT_PORT = 8080;
+	public static final int DEFAULT_CAPACITY = 100000;
+	public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 30 * 60;
+	public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+	private static final String CONTEXT = "/games";
+	// a guess body is a five letter word, anything much longer is refused
+	private static final int MAX_BODY_BYTES = 64;
+
+	private final HttpServer httpServer;
+	private final ExecutorService executor;
+	private final SessionManager sessions;
+	private final Semaphore inFlight;
+	// set on the dispatcher thread while it answers a request with no permit
+	private static final ThreadLocal<Boolean> SHEDDING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	/**
+	 * WordleServer constructor. The server does not accept requests until
+	 * start is called.
+	 * @param port the port to listen on
+	 * @param capacity the largest number of games held at once
+	 * @param idleTimeoutSeconds how long a game may go unused
+	 * @param maxInFlight the largest number of requests handled at once
+	 * @throws IOException if the port cannot be bound.
+	 */
+	public WordleServer(int port, int capacity, long idleTimeoutSeconds, int maxInFlight) throws IOException {
+		httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+		executor = newRequestExecutor(maxInFlight);
+		sessions = new SessionManager(capacity, idleTimeoutSeconds);
+		inFlight = new Semaphore(maxInFlight);
+		httpServer.createContext(CONTEXT, this::handle);
+		httpServer.setExecutor(this::dispatch);
+	}
+
+	/**
+	 * This is the entry point of the server.
+	 * @param args the port, optional.
+	 * @throws IOException if the server cannot start.
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		WordleServer server = new WordleServer(port, DEFAULT_CAPACITY, DEFAULT_IDLE_TIMEOUT_SECONDS, DEFAULT_MAX_IN_FLIGHT);
+		server.start();
+		System.out.println("Wordle server listening on port " + server.getPort());
+	}
+
+	/**
+	 * This method loads the dictionary and starts accepting requests.
+	 * @throws IOException if the dictionary file is not found.
+	 */
+	public void start() throws IOException {
+		DictionaryRegistry.getDefault();
+		httpServer.start();
+	}
+
+	/**
+	 * This method stops the server and ends every game.
+	 * @param delaySeconds how long to let running requests finish
+	 */
+	public void stop(int delaySeconds) {
+		httpServer.stop(delaySeconds);
+		sessions.shutdown();
+		executor.shutdown();
+		try {
+			executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * This method returns the port the server listens on.
+	 * @return the bound port.
+	 */
+	public int getPort() {
+		return httpServer.getAddress().getPort();
+	}
+
+	/**
+	 * This method is the executor of the HTTP server. A request is handed
+	 * to the request executor only with an in-flight permit, so no more 
+	 * than the in-flight limit are ever running or queued. Without a 
+	 * permit the request is run on the calling dispatcher thread, where 
+	 * handle answers it with 503 at once.
+	 * @param request the request of the HTTP server
+	 */
+	private void dispatch(Runnable request) {
+		if (!inFlight.tryAcquire()) {
+			SHEDDING.set(Boolean.TRUE);
+			try {
+				request.run();
+			} finally {
+				SHEDDING.set(Boolean.FALSE);
+			}
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					request.run();
+				} finally {
+					inFlight.release();
+				}
+			});
+		} catch (RuntimeException e) {
+			// the executor is shut down
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * This method handles every request under /games.
+	 * @param exchange the request and its response
+	 * @throws IOException if the response cannot be sent.
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+		if (SHEDDING.get()) {
+			exchange.getResponseHeaders().set("Retry-After", "1");
+			send(exchange, 503, error("Server is busy"));
+			return;
+		}
+		try {
+			route(exchange);
+		} catch (RuntimeException e) {
+			// a bug in a game must not leave the client without an answer
+			e.printStackTrace();
+			sendError(exchange, 500, "Internal server error");
+		}
+	}
+
+	private void route(HttpExchange exchange) throws IOException {
+		String method = exchange.getRequestMethod();
+		String path = exchange.getRequestURI().getPath();
+		String[] parts = path.substring(CONTEXT.length()).split("/");
+		// parts[0] is the empty string in front of the first slash
+		if (parts.length <= 1) {
+			if (method.equals("POST")) {
+				GameSession session = sessions.create();
+				if (session == null) {
+					exchange.getResponseHeaders().set("Retry-After", "60");
+					send(exchange, 503, error("Too many games"));
+				}
+				else {
+					session.setHardMode("true".equals(queryParameter(exchange, "hard")));
+					send(exchange, 201, session.toJson());
+				}
+			}
+			else {
+				send(exchange, 405, error("Method not allowed"));
+			}
+			return;
+		}
+		GameSession session = sessions.get(parts[1]);
+		if (session == null) {
+			send(exchange, 404, error("No such game"));
+			return;
+		}
+		if (parts.length == 2 && method.equals("GET")) {
+			send(exchange, 200, session.toJson());
+		}
+		else if (parts.length == 2 && method.equals("DELETE")) {
+			sessions.remove(session.getId());
+			exchange.sendResponseHeaders(204, -1);
+			exchange.close();
+		}
+		else if (parts.length == 3 && parts[2].equals("guesses") && method.equals("POST")) {
+			String guess = readBody(exchange);
+			if (guess == null) {
+				send(exchange, 413, error("Guess is too long"));
+				return;
+			}
+			GUESS_RESULT result = session.tryGuess(guess);
+			if (result == GUESS_RESULT.OK) {
+				send(exchange, 200, session.toJson());
+			}
+			else if (result == GUESS_RESULT.GAME_OVER) {
+				send(exchange, 409, error(result.getDescription()));
+			}
+			else {
+				send(exchange, 400, error(result.getDescription()));
+			}
+		}
+		else {
+			send(exchange, 405, error("Method not allowed"));
+		}
+	}
+
+	/**
+	 * This method reads a short request body as a trimmed String.
+	 * @param exchange the request
+	 * @return the body or null if it is too long.
+	 * @throws IOException if the body cannot be read.
+	 */
+	private static String readBody(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+			if (body.length > MAX_BODY_BYTES) {
+				return null;
+			}
+			return new String(body, StandardCharsets.US_ASCII).trim();
+		}
+	}
+
+	/**
+	 * This method returns the value of a parameter of the query of a 
+	 * request, such as true for hard in ?hard=true.
+	 * @param exchange the request
+	 * @param name the name of the parameter
+	 * @return the decoded value of the first parameter with the name, the
+	 * empty String if it has no value, or null if there is none.
+	 */
+	private static String queryParameter(HttpExchange exchange, String name) {
+		String query = exchange.getRequestURI().getRawQuery();
+		if (query == null) {
+			return null;
+		}
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			String key = equals < 0 ? pair : pair.substring(0, equals);
+			if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+				return equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+			}
+		}
+		return null;
+	}
+
+	private static void send(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	/**
+	 * This method answers with an error after a failure, unless the 
+	 * response was already started, and then closes the exchange.
+	 * @param exchange the request
+	 * @param status the status code
+	 * @param message the error message
+	 */
+	private static void sendError(HttpExchange exchange, int status, String message) {
+		try {
+			if (exchange.getResponseCode() == -1) {
+				send(exchange, status, error(message));
+			}
+		} catch (IOException | RuntimeException e) {
+			// the client is gone
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static String error(String message) {
+		return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+	}
+
+	/**
+	 * This method makes the executor requests run on. Virtual threads are
+	 * looked up by reflection so the server still runs on a JDK without 
+	 * them, where a fixed pool as large as the in-flight limit is used. 
+	 * Either way dispatch bounds the requests given to it.
+	 * @param maxInFlight the largest number of requests handled at once
+	 * @return the executor.
+	 */
+	private static ExecutorService newRequestExecutor(int maxInFlight) {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(maxInFlight);
+		}
+	}
+}
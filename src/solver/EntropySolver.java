@@ -0,0 +1,335 @@
+package solver;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: EntropySolver.java
+ * PURPOSE: This class suggests the next guesses of a game. From the
+ * progress of the game it finds the answers that are still possible, then
+ * scores every word of the dictionary as a guess against them and ranks
+ * the guesses by the expected information (the entropy of the feedback
+ * codes they would produce). The guesses are split across cores on a
+ * fork-join pool. A search has a time budget and can be cancelled, and in
+ * either case it returns the best guesses it has ranked so far. Possible
+ * answers are ranked first so an early stop still gives a useful result.
+ * Without a FeedbackMatrix the guesses are scored with BulkScorer.best.
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import model.AnswerPlanes;
+import model.BulkScorer;
+import model.CandidateSet;
+import model.Dictionary;
+import model.FeedbackScorer;
+import model.PackedWord;
+import utilities.Guess;
+
+public final class EntropySolver {
+	// guesses handled by one fork-join task before it stops splitting
+	private static final int GUESSES_PER_TASK = 32;
+	private static final double LOG_2 = Math.log(2);
+
+	private final Dictionary dictionary;
+	private final FeedbackMatrix matrix;
+	private final ForkJoinPool pool;
+	private final BulkScorer scorer = BulkScorer.best();
+	// the ranked openings, published as one object so a reader never pairs
+	// a limit with the guesses of another search
+	private volatile Opening cachedOpening;
+
+	/**
+	 * This is the constructor of a solver that scores guesses as it goes.
+	 * @param dictionary the dictionary of guesses and answers
+	 */
+	public EntropySolver(Dictionary dictionary) {
+		this(dictionary, null, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * This is the constructor of a solver.
+	 * @param dictionary the dictionary of guesses and answers
+	 * @param matrix the feedback matrix of the dictionary, or null to 
+	 * score guesses as it goes
+	 * @param pool the pool the search runs on
+	 */
+	public EntropySolver(Dictionary dictionary, FeedbackMatrix matrix, ForkJoinPool pool) {
+		if (matrix != null && matrix.size() != dictionary.size()) {
+			throw new IllegalArgumentException("The feedback matrix does not belong to the dictionary.");
+		}
+		this.dictionary = dictionary;
+		this.matrix = matrix;
+		this.pool = pool;
+	}
+
+	/**
+	 * This method returns the best next guesses, waiting for the search to
+	 * finish or for the time budget to run out.
+	 * @param progress the progress of the game, as returned by the model
+	 * @param k the number of guesses to return
+	 * @param budgetMillis the time budget in milliseconds
+	 * @return at most k guesses, best first.
+	 */
+	public List<RankedGuess> bestGuesses(Guess[] progress, int k, long budgetMillis) {
+		return start(progress, k, budgetMillis).join();
+	}
+
+	/**
+	 * This method starts a search for the best next guesses.
+	 * @param progress the progress of the game, as returned by the model
+	 * @param k the number of guesses to return
+	 * @param budgetMillis the time budget in milliseconds
+	 * @return the running search.
+	 */
+	public Search start(Guess[] progress, int k, long budgetMillis) {
+		return start(remainingCandidates(progress), k, budgetMillis);
+	}
+
+	/**
+	 * This method starts a search for the best next guesses given the 
+	 * possible answers, for example from WordleModel.getCandidateSet.
+	 * @param candidateSet the possible answers
+	 * @param k the number of guesses to return
+	 * @param budgetMillis the time budget in milliseconds
+	 * @return the running search.
+	 */
+	public Search start(CandidateSet candidateSet, int k, long budgetMillis) {
+		return start(candidateSet.toIndices(), k, budgetMillis);
+	}
+
+	private Search start(int[] candidates, int k, long budgetMillis) {
+		boolean isOpening = candidates.length == dictionary.size();
+		Opening cached = cachedOpening;
+		if (isOpening && cached != null && cached.limit >= k) {
+			return new Search(cached.guesses.subList(0, Math.min(k, cached.guesses.size())), candidates.length);
+		}
+		if (candidates.length <= 2) {
+			// guessing a possible answer is as good as anything else here
+			List<RankedGuess> result = new ArrayList<RankedGuess>();
+			for (int i = 0; i < candidates.length && i < k; i++) {
+				result.add(new RankedGuess(dictionary.wordAt(candidates[i]), candidates.length == 2 ? 1 : 0, true));
+			}
+			return new Search(result, candidates.length);
+		}
+		Search search = new Search(candidates, k, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis), isOpening);
+		search.task = pool.submit(new GuessTask(search, 0, search.order.length));
+		return search;
+	}
+
+	/**
+	 * This method returns the positions in the dictionary of the answers
+	 * that agree with every guess made so far.
+	 * @param progress the progress of the game
+	 * @return the positions of the possible answers.
+	 */
+	public int[] remainingCandidates(Guess[] progress) {
+		CandidateSet candidates = CandidateSet.all(dictionary);
+		for (Guess guess : progress) {
+			if (guess != null) {
+				candidates.narrow(PackedWord.encode(guess.getGuess()), FeedbackScorer.fromIndices(guess.getIndices()));
+			}
+		}
+		return candidates.toIndices();
+	}
+
+	/**
+	 * This method returns the expected information of a guess in bits.
+	 * @param guess the position of the guess in the dictionary
+	 * @param candidates the positions of the possible answers
+	 * @param answers the possible answers laid out for the BulkScorer
+	 * @param histogram a scratch array of FeedbackScorer.CODE_COUNT counts
+	 * @param codes a scratch array as long as the candidates
+	 * @return the entropy of the feedback codes of the guess.
+	 */
+	private double expectedInformation(int guess, int[] candidates, AnswerPlanes answers, int[] histogram, byte[] codes) {
+		Arrays.fill(histogram, 0);
+		if (matrix != null) {
+			for (int answer : candidates) {
+				histogram[matrix.get(guess, answer)] += 1;
+			}
+		}
+		else {
+			scorer.score(dictionary.packedWordAt(guess), answers, codes);
+			for (int i = 0; i < candidates.length; i++) {
+				histogram[codes[i] & 0xFF] += 1;
+			}
+		}
+		// H = log2(n) - sum(c * log2(c)) / n
+		double sum = 0;
+		for (int count : histogram) {
+			if (count > 1) {
+				sum += count * Math.log(count);
+			}
+		}
+		return (Math.log(candidates.length) - sum / candidates.length) / LOG_2;
+	}
+
+	/**
+	 * This class holds the best openings of a finished search, as many as
+	 * the search was asked for.
+	 */
+	private static final class Opening {
+		private final int limit;
+		private final List<RankedGuess> guesses;
+
+		Opening(int limit, List<RankedGuess> guesses) {
+			this.limit = limit;
+			this.guesses = Collections.unmodifiableList(new ArrayList<RankedGuess>(guesses));
+		}
+	}
+
+	/**
+	 * This class is a running search. It can be waited on or cancelled.
+	 */
+	public final class Search {
+		private final int[] candidates;
+		private final int candidateCount;
+		private final AnswerPlanes answers;
+		private final int[] order;
+		private final double[] information;
+		private final boolean[] possible;
+		private final int k;
+		private final long deadline;
+		private final boolean opening;
+		private volatile boolean cancelled;
+		private volatile ForkJoinTask<?> task;
+		private List<RankedGuess> result;
+
+		private Search(List<RankedGuess> result, int candidateCount) {
+			this.candidates = null;
+			this.candidateCount = candidateCount;
+			this.answers = null;
+			this.order = null;
+			this.information = null;
+			this.possible = null;
+			this.k = result.size();
+			this.deadline = 0;
+			this.opening = false;
+			this.result = result;
+		}
+
+		private Search(int[] candidates, int k, long deadline, boolean opening) {
+			this.candidates = candidates;
+			this.candidateCount = candidates.length;
+			this.answers = matrix == null ? AnswerPlanes.of(dictionary, candidates) : null;
+			this.k = k;
+			this.deadline = deadline;
+			this.opening = opening;
+			int size = dictionary.size();
+			possible = new boolean[size];
+			for (int candidate : candidates) {
+				possible[candidate] = true;
+			}
+			// possible answers go first so they are ranked even if time runs out
+			order = new int[size];
+			int next = 0;
+			for (int candidate : candidates) {
+				order[next++] = candidate;
+			}
+			for (int i = 0; i < size; i++) {
+				if (!possible[i]) {
+					order[next++] = i;
+				}
+			}
+			information = new double[size];
+			Arrays.fill(information, Double.NaN);
+		}
+
+		/**
+		 * This method stops the search. join still returns the guesses
+		 * ranked before it stopped.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+
+		/**
+		 * This method returns if the search has finished.
+		 * @return true once join would not wait.
+		 */
+		public boolean isDone() {
+			return task == null || task.isDone();
+		}
+
+		/**
+		 * This method waits for the search and returns its result.
+		 * @return at most k guesses, best first.
+		 */
+		public synchronized List<RankedGuess> join() {
+			if (result == null) {
+				task.join();
+				result = rank();
+				if (opening && !cancelled && System.nanoTime() < deadline) {
+					cachedOpening = new Opening(k, result);
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * This method returns the number of possible answers.
+		 * @return the number of answers that agree with the progress.
+		 */
+		public int candidateCount() {
+			return candidateCount;
+		}
+
+		private boolean shouldStop() {
+			return cancelled || System.nanoTime() - deadline > 0;
+		}
+
+		private List<RankedGuess> rank() {
+			List<Integer> ranked = new ArrayList<Integer>();
+			for (int i = 0; i < information.length; i++) {
+				if (!Double.isNaN(information[i])) {
+					ranked.add(i);
+				}
+			}
+			// most information first, a possible answer wins a tie
+			ranked.sort((a, b) -> {
+				int byInformation = Double.compare(information[b], information[a]);
+				return byInformation != 0 ? byInformation : Boolean.compare(possible[b], possible[a]);
+			});
+			List<RankedGuess> best = new ArrayList<RankedGuess>();
+			for (int i = 0; i < ranked.size() && i < k; i++) {
+				int guess = ranked.get(i);
+				best.add(new RankedGuess(dictionary.wordAt(guess), information[guess], possible[guess]));
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * This class is the fork-join task that ranks a range of the guesses.
+	 */
+	private final class GuessTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final Search search;
+		private final int from;
+		private final int to;
+
+		GuessTask(Search search, int from, int to) {
+			this.search = search;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > GUESSES_PER_TASK) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new GuessTask(search, from, middle), new GuessTask(search, middle, to));
+				return;
+			}
+			int[] histogram = new int[FeedbackScorer.CODE_COUNT];
+			byte[] codes = new byte[search.candidates.length];
+			for (int i = from; i < to && !search.shouldStop(); i++) {
+				int guess = search.order[i];
+				search.information[guess] = expectedInformation(guess, search.candidates, search.answers, histogram, codes);
+			}
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package solver;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: FeedbackMatrix.java
+ * PURPOSE: This class holds the feedback code (see model.FeedbackScorer) 
+ * of every guess against every answer of a dictionary, one byte for each
+ * pair. The matrix is generated once in parallel on the common fork-join
+ * pool straight into a file, and read back by mapping that file read only,
+ * so it lives outside the heap and the operating system shares its pages
+ * between every process that maps it. The file starts with a 16 byte
+ * header (magic number, version, word count and the fingerprint of the
+ * dictionary) followed by the rows, one row per guess.
+ * 
+ * Usage: java solver.FeedbackMatrix [FeedbackMatrix.bin]
+ */
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import model.AnswerPlanes;
+import model.BulkScorer;
+import model.Dictionary;
+import model.DictionaryRegistry;
+
+public final class FeedbackMatrix {
+	//constants of the file format
+	private static final int MAGIC = 0x57464D31; // "WFM1"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 16;
+	/** The largest dictionary whose matrix fits in one mapped buffer. */
+	public static final int MAX_WORDS = 46340;
+	/** The file the matrix is written to by default. */
+	public static final String DEFAULT_FILENAME = "FeedbackMatrix.bin";
+	// rows handled by one fork-join task before it stops splitting
+	private static final int ROWS_PER_TASK = 64;
+
+	private final MappedByteBuffer buffer;
+	private final int size;
+
+	private FeedbackMatrix(MappedByteBuffer buffer, int size) {
+		this.buffer = buffer;
+		this.size = size;
+	}
+
+	/**
+	 * This is the entry point that generates the matrix of the default
+	 * dictionary.
+	 * @param args the output file, optional.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		File file = new File(args.length > 0 ? args[0] : DEFAULT_FILENAME);
+		Dictionary dictionary = DictionaryRegistry.getDefault();
+		long start = System.nanoTime();
+		generate(dictionary, file);
+		System.out.println("Wrote " + dictionary.size() + " x " + dictionary.size() + " feedback codes to "
+				+ file + " in " + (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * This method scores every word of the dictionary against every other
+	 * word in parallel and writes the matrix to a file.
+	 * @param dictionary the dictionary
+	 * @param file the file to write
+	 * @return the matrix, mapped read only.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static FeedbackMatrix generate(Dictionary dictionary, File file) throws IOException {
+		int size = dictionary.size();
+		if (size > MAX_WORDS) {
+			throw new IllegalArgumentException("A feedback matrix holds at most " + MAX_WORDS + " words.");
+		}
+		int[] words = new int[size];
+		for (int i = 0; i < size; i++) {
+			words[i] = dictionary.packedWordAt(i);
+		}
+		AnswerPlanes answers = AnswerPlanes.of(words);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) size * size);
+			ForkJoinPool.commonPool().invoke(new RowTask(words, answers, out, 0, size));
+			out.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, size).putInt(12, dictionary.fingerprint());
+			out.force();
+		}
+		return open(file, dictionary);
+	}
+
+	/**
+	 * This method maps a matrix file read only.
+	 * @param file the matrix file
+	 * @param dictionary the dictionary the matrix must belong to
+	 * @return the mapped matrix.
+	 * @throws IOException if the file cannot be read or was made from a 
+	 * different dictionary.
+	 */
+	public static FeedbackMatrix open(File file, Dictionary dictionary) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			int size = dictionary.size();
+			if (channel.size() != HEADER_BYTES + (long) size * size) {
+				throw new IOException("matrix size does not match the dictionary");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != size) {
+				throw new IOException("not a feedback matrix");
+			}
+			if (buffer.getInt(12) != dictionary.fingerprint()) {
+				throw new IOException("matrix was made from a different dictionary");
+			}
+			return new FeedbackMatrix(buffer, size);
+		}
+	}
+
+	/**
+	 * This method returns the number of words along each side.
+	 * @return the number of words.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * This method returns the feedback code of a guess against an answer.
+	 * @param guessIndex the position of the guess in the dictionary
+	 * @param answerIndex the position of the answer in the dictionary
+	 * @return the feedback code from 0 to 242.
+	 */
+	public int get(int guessIndex, int answerIndex) {
+		return buffer.get(HEADER_BYTES + guessIndex * size + answerIndex) & 0xFF;
+	}
+
+	/**
+	 * This class is the fork-join task that fills a range of rows.
+	 */
+	private static final class RowTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int[] words;
+		private final AnswerPlanes answers;
+		private final MappedByteBuffer out;
+		private final int from;
+		private final int to;
+
+		RowTask(int[] words, AnswerPlanes answers, MappedByteBuffer out, int from, int to) {
+			this.words = words;
+			this.answers = answers;
+			this.out = out;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > ROWS_PER_TASK) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new RowTask(words, answers, out, from, middle), new RowTask(words, answers, out, middle, to));
+				return;
+			}
+			byte[] row = new byte[words.length];
+			BulkScorer scorer = BulkScorer.best();
+			for (int guess = from; guess < to; guess++) {
+				scorer.score(words[guess], answers, row);
+				// absolute puts never touch the shared position of the buffer
+				out.put(HEADER_BYTES + guess * words.length, row);
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package solver;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: GuessStrategy.java
+ * PURPOSE: This interface is a way of choosing guesses, played by the 
+ * Simulation. One strategy object plays many games at once from many 
+ * threads, so implementations must keep no state of a game between 
+ * calls; caches shared by the games, such as the openings of an 
+ * EntropySolver, must be thread-safe.
+ */
+import model.WordleModel;
+
+public interface GuessStrategy {
+
+	/**
+	 * This method chooses the next guess of a game.
+	 * @param game the game, with every earlier guess already made
+	 * @param guessNumber the number of the guess to choose, counting from 0
+	 * @return the guess, a word of the dictionary of the game.
+	 */
+	String nextGuess(WordleModel game, int guessNumber);
+
+	/**
+	 * This method returns the name of the strategy for reports.
+	 * @return a short name.
+	 */
+	String name();
+}
@@ -0,0 +1,41 @@
+package solver;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: RankedGuess.java
+ * PURPOSE: This class is one suggestion of the EntropySolver: a guess and
+ * the information it is expected to give about the answer.
+ */
+public final class RankedGuess {
+	private final String guess;
+	private final double expectedInformation;
+	private final boolean possibleAnswer;
+
+	/**
+	 * RankedGuess constructor.
+	 * @param guess the suggested guess in upper case
+	 * @param expectedInformation the expected information in bits
+	 * @param possibleAnswer whether the guess could still be the answer
+	 */
+	public RankedGuess(String guess, double expectedInformation, boolean possibleAnswer) {
+		this.guess = guess;
+		this.expectedInformation = expectedInformation;
+		this.possibleAnswer = possibleAnswer;
+	}
+
+	public String getGuess() {
+		return guess;
+	}
+
+	public double getExpectedInformation() {
+		return expectedInformation;
+	}
+
+	public boolean isPossibleAnswer() {
+		return possibleAnswer;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%.3f bits%s)", guess, expectedInformation, possibleAnswer ? ", possible answer" : "");
+	}
+}
@@ -0,0 +1,233 @@
+package solver;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: Simulation.java
+ * PURPOSE: This class plays a full game against every word of the 
+ * dictionary as the answer with a GuessStrategy, spread across all cores
+ * on the common fork-join pool. Each game is a plain WordleModel with no
+ * listeners. Results are added up as the games finish and a report of the
+ * win rate, the guess count histogram, the hardest words and the 
+ * throughput is printed every second and at the end, so the run also
+ * serves as an end to end throughput benchmark.
+ * 
+ * Usage: java solver.Simulation [first|entropy] [games]
+ */
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import exception.invalidGuessException;
+import model.Dictionary;
+import model.DictionaryRegistry;
+import model.FeedbackScorer;
+import model.WordleModel;
+
+public final class Simulation {
+	private static final int MAX_GUESSES = 6;
+	// histogram slot of a lost game
+	private static final int LOST = 0;
+	private static final int WORST_WORDS_SHOWN = 10;
+
+	private final Dictionary dictionary;
+	private final GuessStrategy strategy;
+	private final AtomicLongArray histogram = new AtomicLongArray(MAX_GUESSES + 1);
+	private final ConcurrentLinkedQueue<String> lostWords = new ConcurrentLinkedQueue<String>();
+	// the words of the highest guess count so far, raising the count and
+	// replacing the words is one step under the lock; it is taken once per
+	// finished game, so it is never contended for long
+	private final Object worstLock = new Object();
+	private int worstGuessCount;
+	private final List<String> worstWords = new ArrayList<String>();
+	private volatile long startNanos;
+
+	/**
+	 * Simulation constructor.
+	 * @param dictionary the dictionary of guesses and answers
+	 * @param strategy the strategy that plays every game
+	 */
+	public Simulation(Dictionary dictionary, GuessStrategy strategy) {
+		this.dictionary = dictionary;
+		this.strategy = strategy;
+	}
+
+	/**
+	 * This is the entry point of the simulation.
+	 * @param args the strategy name and the number of games, both optional
+	 * @throws FileNotFoundException if the dictionary file is not found.
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		Dictionary dictionary = DictionaryRegistry.getDefault();
+		GuessStrategy strategy = Strategies.byName(args.length > 0 ? args[0] : "entropy", dictionary);
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : dictionary.size();
+		Simulation simulation = new Simulation(dictionary, strategy);
+		Snapshot result = simulation.run(games, 1000, System.out::println);
+		System.out.println("Final: " + result);
+	}
+
+	/**
+	 * This method plays one game against each of the first words of the
+	 * dictionary and waits for all of them.
+	 * @param games the number of games, at most the dictionary size
+	 * @param reportMillis how often to report, 0 for no reports while running
+	 * @param reports where the reports go
+	 * @return the results of every game.
+	 */
+	public Snapshot run(int games, long reportMillis, Consumer<Snapshot> reports) {
+		games = Math.min(games, dictionary.size());
+		startNanos = System.nanoTime();
+		ScheduledExecutorService reporter = null;
+		if (reportMillis > 0) {
+			reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "wordle-simulation-report");
+				thread.setDaemon(true);
+				return thread;
+			});
+			reporter.scheduleAtFixedRate(() -> reports.accept(snapshot()), reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+		}
+		try {
+			if (games > 0) {
+				// the first game runs alone so a strategy can prepare its opening once
+				play(0);
+				IntStream.range(1, games).parallel().forEach(this::play);
+			}
+		} finally {
+			if (reporter != null) {
+				reporter.shutdownNow();
+			}
+		}
+		return snapshot();
+	}
+
+	/**
+	 * This method returns the results of the games finished so far.
+	 * @return the current results.
+	 */
+	public Snapshot snapshot() {
+		long[] counts = new long[MAX_GUESSES + 1];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = histogram.get(i);
+		}
+		List<String> worst = new ArrayList<String>();
+		if (lostWords.isEmpty()) {
+			synchronized (worstLock) {
+				worst.addAll(worstWords);
+			}
+		}
+		else {
+			for (String word : lostWords) {
+				if (worst.size() == WORST_WORDS_SHOWN) {
+					break;
+				}
+				worst.add(word);
+			}
+		}
+		return new Snapshot(strategy.name(), counts, worst, System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * This method plays the game whose answer is a word of the dictionary.
+	 * @param answerIndex the position of the answer in the dictionary
+	 */
+	private void play(int answerIndex) {
+		String answer = dictionary.wordAt(answerIndex);
+		WordleModel game = new WordleModel(dictionary, answer);
+		for (int guessNumber = 0; guessNumber < MAX_GUESSES; guessNumber++) {
+			try {
+				game.makeGuess(guessNumber, strategy.nextGuess(game, guessNumber));
+			} catch (invalidGuessException e) {
+				throw new IllegalStateException(strategy.name() + " made an invalid guess", e);
+			}
+			if (game.getFeedbackCode(guessNumber) == FeedbackScorer.ALL_CORRECT) {
+				record(answer, guessNumber + 1);
+				return;
+			}
+		}
+		lostWords.add(answer);
+		record(answer, LOST);
+	}
+
+	private void record(String answer, int guessCount) {
+		histogram.incrementAndGet(guessCount);
+		int effective = guessCount == LOST ? MAX_GUESSES + 1 : guessCount;
+		synchronized (worstLock) {
+			if (effective > worstGuessCount) {
+				worstGuessCount = effective;
+				worstWords.clear();
+			}
+			if (effective == worstGuessCount && worstWords.size() < WORST_WORDS_SHOWN) {
+				worstWords.add(answer);
+			}
+		}
+	}
+
+	/**
+	 * This class is the results of a simulation at one moment.
+	 */
+	public static final class Snapshot {
+		private final String strategy;
+		private final long[] histogram;
+		private final List<String> worstWords;
+		private final long elapsedNanos;
+
+		Snapshot(String strategy, long[] histogram, List<String> worstWords, long elapsedNanos) {
+			this.strategy = strategy;
+			this.histogram = histogram;
+			this.worstWords = worstWords;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public long getGames() {
+			long games = 0;
+			for (long count : histogram) {
+				games += count;
+			}
+			return games;
+		}
+
+		public long getWins() {
+			return getGames() - histogram[LOST];
+		}
+
+		/**
+		 * This method returns how many games took a number of guesses.
+		 * @param guessCount from 1 to 6, or 0 for the games lost
+		 * @return the number of games.
+		 */
+		public long getGamesWithGuesses(int guessCount) {
+			return histogram[guessCount];
+		}
+
+		public List<String> getWorstWords() {
+			return worstWords;
+		}
+
+		public double getGamesPerSecond() {
+			return elapsedNanos <= 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			long games = getGames();
+			long guesses = 0;
+			StringBuilder text = new StringBuilder();
+			text.append(String.format("%s: %d games, win rate %.2f%%", strategy, games,
+					games == 0 ? 0 : 100.0 * getWins() / games));
+			text.append(", guesses [");
+			for (int i = 1; i <= MAX_GUESSES; i++) {
+				text.append(i).append(':').append(histogram[i]).append(' ');
+				guesses += i * histogram[i];
+			}
+			text.append("X:").append(histogram[LOST]).append(']');
+			text.append(String.format(", mean %.3f", getWins() == 0 ? 0 : (double) guesses / getWins()));
+			text.append(String.format(", %.0f games/s", getGamesPerSecond()));
+			text.append(", hardest ").append(worstWords);
+			return text.toString();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package solver;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: Strategies.java
+ * PURPOSE: This class makes the guessing strategies the Simulation can be
+ * asked for by name:
+ * 	1. "first" guesses the first answer that is still possible.
+ * 	2. "entropy" guesses the word the EntropySolver ranks best, remembering
+ * 	   its second guesses since they only depend on the first feedback.
+ */
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import model.CandidateSet;
+import model.Dictionary;
+import model.FeedbackScorer;
+import model.WordleModel;
+
+public final class Strategies {
+	// the opening is ranked once with a generous budget and then reused
+	private static final long OPENING_BUDGET_MILLIS = 60000;
+	private static final long GUESS_BUDGET_MILLIS = 2000;
+
+	private Strategies() {
+	}
+
+	/**
+	 * This method returns a strategy by its name.
+	 * @param name the name of the strategy
+	 * @param dictionary the dictionary the games are played with
+	 * @return the strategy.
+	 * @throws IllegalArgumentException if there is no such strategy.
+	 */
+	public static GuessStrategy byName(String name, Dictionary dictionary) {
+		if (name.equals("first")) {
+			return firstCandidate();
+		}
+		if (name.equals("entropy")) {
+			return entropy(new EntropySolver(dictionary));
+		}
+		throw new IllegalArgumentException("Unknown strategy " + name);
+	}
+
+	/**
+	 * This method returns the strategy that guesses the first possible 
+	 * answer in dictionary order.
+	 * @return the strategy.
+	 */
+	public static GuessStrategy firstCandidate() {
+		return new GuessStrategy() {
+			@Override
+			public String nextGuess(WordleModel game, int guessNumber) {
+				CandidateSet candidates = game.getCandidateSet();
+				return game.getDictionary().wordAt(candidates.nextIndex(0));
+			}
+
+			@Override
+			public String name() {
+				return "first";
+			}
+		};
+	}
+
+	/**
+	 * This method returns the strategy that guesses the best word of an
+	 * EntropySolver.
+	 * @param solver the solver
+	 * @return the strategy.
+	 */
+	public static GuessStrategy entropy(EntropySolver solver) {
+		// the opening is always the same, so the second guess only depends
+		// on the feedback code of the first one and is worth remembering
+		ConcurrentHashMap<Long, String> secondGuesses = new ConcurrentHashMap<Long, String>();
+		return new GuessStrategy() {
+			@Override
+			public String nextGuess(WordleModel game, int guessNumber) {
+				if (guessNumber == 1) {
+					long key = (long) game.getPackedGuess(0) * FeedbackScorer.CODE_COUNT + game.getFeedbackCode(0);
+					// the search runs outside the map, it joins fork join tasks
+					// and must not hold a bin of the map while it does; two 
+					// games may rank the same feedback, the first answer stays
+					String known = secondGuesses.get(key);
+					if (known != null) {
+						return known;
+					}
+					String guess = best(game, GUESS_BUDGET_MILLIS);
+					known = secondGuesses.putIfAbsent(key, guess);
+					return known != null ? known : guess;
+				}
+				return best(game, guessNumber == 0 ? OPENING_BUDGET_MILLIS : GUESS_BUDGET_MILLIS);
+			}
+
+			/**
+			 * This method returns the best guess found within the budget, or
+			 * the first possible answer if the budget ran out before any 
+			 * guess was ranked.
+			 */
+			private String best(WordleModel game, long budget) {
+				CandidateSet candidates = game.getCandidateSet();
+				List<RankedGuess> ranked = solver.start(candidates, 1, budget).join();
+				if (ranked.isEmpty()) {
+					return game.getDictionary().wordAt(candidates.nextIndex(0));
+				}
+				return ranked.get(0).getGuess();
+			}
+
+			@Override
+			public String name() {
+				return "entropy";
+			}
+		};
+	}
+}
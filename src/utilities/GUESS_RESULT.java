@@ -0,0 +1,36 @@
+package utilities;
+/**
+ * @author Amimul Ehsan Zoha
+ * 
+ * This enum represents the result of trying to make a guess. The guess is
+ * either made, or rejected for one of these reasons:
+ * 	1. It is not five characters long.
+ * 	2. It has a character that is not a letter.
+ * 	3. It is not a word of the dictionary.
+ * 	4. In hard mode, it does not use the hints revealed so far.
+ * 	5. The game is already over.
+ * The user of the class may use 'getDescription' to get a printable 
+ * description of each enum for printing to the console.
+ */
+public enum GUESS_RESULT {
+	OK("The guess was made"),
+	WRONG_LENGTH("You must make a guess of 5 letter words"),
+	NON_ALPHA("You must make an alphatical guess"),
+	NOT_IN_DICTIONARY("You must guess a valid word"),
+	HARD_MODE_VIOLATION("In hard mode you must use every hint revealed so far"),
+	GAME_OVER("The game is over");
+	
+	private String description;
+	
+	private GUESS_RESULT(String description) {
+		this.description = description;
+	}
+	/**
+	 * Returns a description of the enum value.
+	 * 
+	 * @return A string containing the description of the enum value.
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+}
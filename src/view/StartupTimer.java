@@ -0,0 +1,75 @@
+package view;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: StartupTimer.java
+ * PURPOSE: This class times how the program starts: the JVM until main, 
+ * main until the UI is ready for input, and the dictionary load that runs
+ * in the background next to it. When both the UI and the dictionary are
+ * ready it prints one line with the break down to the error stream, so it
+ * does not mix with the game on the console. The dictionary is timed by
+ * its DictionaryProvider when the load finishes, not when it is reported,
+ * so a load that beat the UI shows its own time.
+ */
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import model.DictionaryProvider;
+
+final class StartupTimer {
+	private static long mainNanos;
+	private static long jvmMillis = -1;
+
+	private StartupTimer() {
+	}
+
+	/**
+	 * This method is called first thing in main.
+	 */
+	static void mainStarted() {
+		mainNanos = System.nanoTime();
+		Instant processStart = ProcessHandle.current().info().startInstant().orElse(null);
+		if (processStart != null) {
+			jvmMillis = Duration.between(processStart, Instant.now()).toMillis();
+		}
+	}
+
+	/**
+	 * This method is called when the UI takes input, it reports once the
+	 * dictionary is loaded too.
+	 * @param ui the name of the UI, such as "window" or "prompt"
+	 * @param dictionaryLoad the background load of the dictionary
+	 */
+	static void uiReady(String ui, CompletableFuture<DictionaryProvider> dictionaryLoad) {
+		if (mainNanos == 0) {
+			return;
+		}
+		long uiNanos = System.nanoTime();
+		dictionaryLoad.whenComplete((provider, error) -> {
+			StringBuilder report = new StringBuilder("Startup: ");
+			if (jvmMillis >= 0) {
+				report.append("JVM to main ").append(jvmMillis).append(" ms, ");
+			}
+			report.append("main to ").append(ui).append(' ').append(millis(uiNanos - mainNanos)).append(" ms, ");
+			if (error != null) {
+				report.append("dictionary failed to load");
+			}
+			else {
+				long loadedNanos = provider.getReadyNanos();
+				report.append("dictionary ").append(provider.current().size()).append(" words loaded in ")
+					.append(millis(provider.getOpenNanos())).append(" ms, ready ")
+					.append(millis(loadedNanos - mainNanos)).append(" ms after main");
+				if (loadedNanos > uiNanos) {
+					report.append(" (").append(millis(loadedNanos - uiNanos)).append(" ms after the ").append(ui).append(')');
+				}
+				else {
+					report.append(" (").append(millis(uiNanos - loadedNanos)).append(" ms before the ").append(ui).append(')');
+				}
+			}
+			System.err.println(report);
+		});
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1000000;
+	}
+}
@@ -0,0 +1,168 @@
+package view;
+/**
+ * @author Amimul Ehsan Zoha
+ * FILE: TextRenderer.java
+ * PURPOSE: This class renders the board and the keyboard of the text view
+ * as ASCII bytes straight into a ByteBuffer, with no Strings or lists in
+ * between. A renderer keeps one buffer that is reused for every update and
+ * can be flushed to any WritableByteChannel (the console, a log file or a
+ * network connection) or appended to any Appendable. The layout is the one
+ * WordleTextView has always printed.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import utilities.Guess;
+import utilities.INDEX_RESULT;
+
+public final class TextRenderer {
+	private static final int MAX_GUESSES = 6;
+	private static final int WORD_LENGTH = 5;
+	private static final int TOTAL_LETTERS = 26;
+	/** Enough room for a board, a keyboard and their blank lines. */
+	public static final int CAPACITY = 256;
+	private static final byte[] UNGUESSED_LABEL = ascii("Unguessed [ ");
+	private static final byte[] INCORRECT_LABEL = ascii("Incorrect [ ");
+	private static final byte[] CORRECT_LABEL = ascii("Correct [ ");
+	private static final byte[] WRONG_INDEX_LABEL = ascii("Correct letter, wrong index [ ");
+	private static final byte[] CLOSE = ascii("]\n");
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * TextRenderer constructor. The buffer is allocated outside the heap
+	 * so a channel can write it without copying.
+	 */
+	public TextRenderer() {
+		buffer = ByteBuffer.allocateDirect(CAPACITY);
+	}
+
+	/**
+	 * This method renders an update of the text view into the buffer of
+	 * the renderer: the board, a blank line, the keyboard and a blank line.
+	 * @param progress an array of guess objects, null for guesses not made
+	 * @param guessedCharacters the result of each letter, null if unguessed
+	 * @return this renderer, ready to be flushed.
+	 */
+	public TextRenderer render(Guess[] progress, INDEX_RESULT[] guessedCharacters) {
+		buffer.clear();
+		writeBoard(progress, buffer);
+		buffer.put((byte) '\n');
+		writeKeyboard(guessedCharacters, buffer);
+		buffer.put((byte) '\n');
+		buffer.flip();
+		return this;
+	}
+
+	/**
+	 * This method writes the rendered update to a channel.
+	 * @param channel the channel
+	 * @throws IOException if the channel cannot be written.
+	 */
+	public void flushTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer out = buffer.duplicate();
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+	}
+
+	/**
+	 * This method appends the rendered update to an Appendable.
+	 * @param out the Appendable, for example a StringBuilder
+	 * @throws IOException if the Appendable cannot be written.
+	 */
+	public void appendTo(Appendable out) throws IOException {
+		for (int i = buffer.position(); i < buffer.limit(); i++) {
+			out.append((char) buffer.get(i));
+		}
+	}
+
+	/**
+	 * This method writes the board: one line per guess where a CORRECT 
+	 * letter is upper case, a CORRECT_WRONG_INDEX letter lower case and an 
+	 * INCORRECT letter '_', and "_____" for a guess not made yet.
+	 * @param progress an array of guess objects, null for guesses not made
+	 * @param out the buffer to write into
+	 */
+	public static void writeBoard(Guess[] progress, ByteBuffer out) {
+		for (int i = 0; i < MAX_GUESSES; i++) {
+			if (progress[i] != null) {
+				String guess = progress[i].getGuess();
+				INDEX_RESULT[] indices = progress[i].getIndices();
+				for (int j = 0; j < WORD_LENGTH; j++) {
+					char letter = guess.charAt(j);
+					if (indices[j] == INDEX_RESULT.CORRECT) {
+						out.put((byte) Character.toUpperCase(letter));
+					}
+					else if (indices[j] == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+						out.put((byte) Character.toLowerCase(letter));
+					}
+					else {
+						out.put((byte) '_');
+					}
+				}
+			}
+			else {
+				for (int j = 0; j < WORD_LENGTH; j++) {
+					out.put((byte) '_');
+				}
+			}
+			out.put((byte) '\n');
+		}
+	}
+
+	/**
+	 * This method writes the keyboard: the unguessed, incorrect, correct 
+	 * and correct letter wrong index letters, one group per line.
+	 * @param guessedCharacters the result of each letter, null if unguessed
+	 * @param out the buffer to write into
+	 */
+	public static void writeKeyboard(INDEX_RESULT[] guessedCharacters, ByteBuffer out) {
+		writeGroup(guessedCharacters, null, UNGUESSED_LABEL, out);
+		writeGroup(guessedCharacters, INDEX_RESULT.INCORRECT, INCORRECT_LABEL, out);
+		writeGroup(guessedCharacters, INDEX_RESULT.CORRECT, CORRECT_LABEL, out);
+		writeGroup(guessedCharacters, INDEX_RESULT.CORRECT_WRONG_INDEX, WRONG_INDEX_LABEL, out);
+	}
+
+	/**
+	 * This method writes a board into a new String, for callers that want
+	 * one.
+	 * @param progress an array of guess objects, null for guesses not made
+	 * @return the board.
+	 */
+	static String boardToString(Guess[] progress) {
+		ByteBuffer out = ByteBuffer.allocate(CAPACITY);
+		writeBoard(progress, out);
+		return toString(out);
+	}
+
+	/**
+	 * This method writes a keyboard into a new String, for callers that 
+	 * want one.
+	 * @param guessedCharacters the result of each letter, null if unguessed
+	 * @return the keyboard.
+	 */
+	static String keyboardToString(INDEX_RESULT[] guessedCharacters) {
+		ByteBuffer out = ByteBuffer.allocate(CAPACITY);
+		writeKeyboard(guessedCharacters, out);
+		return toString(out);
+	}
+
+	private static void writeGroup(INDEX_RESULT[] guessedCharacters, INDEX_RESULT result, byte[] label, ByteBuffer out) {
+		out.put(label);
+		for (int i = 0; i < TOTAL_LETTERS; i++) {
+			if (guessedCharacters[i] == result) {
+				out.put((byte) ('A' + i)).put((byte) ' ');
+			}
+		}
+		out.put(CLOSE);
+	}
+
+	private static String toString(ByteBuffer out) {
+		return new String(out.array(), 0, out.position(), java.nio.charset.StandardCharsets.US_ASCII);
+	}
+
+	private static byte[] ascii(String text) {
+		return text.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+	}
+}
@@ -6,22 +6,40 @@
  * PURPOSE: This is the main class. JavaFX is used to create a GUI for our Wordle game. 
  * When invoked with a command line argument of “-text”,
  * the text-oriented UI is launched. When invoked with a command line argument of “-gui” GUI UI is launched 
- * The default will be the GUI view if no command line argument is given. 
+ * When invoked with “-server” and an optional port, the game is hosted over HTTP with no UI,
+ * see server.WordleServer.
+ * The default will be the GUI view if no command line argument is given.
+ * Adding “-hard” after the UI option plays in hard mode, where every 
+ * guess must use the hints revealed so far.
+ * With -Dwordle.log=<directory> every game is written to a game log (see
+ * history.GameLog), and with -Dwordle.metrics=true the game is measured
+ * and published over JMX (see metrics.GameMetrics).
+ * The dictionary is loaded in the background from the start of main, and
+ * how long the start took is printed to the error stream.
  */
 
 
 
 package view;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
 import javafx.application.Application;
+import model.DictionaryRegistry;
+import server.WordleServer;
 
 public class Wordle {
 	
-    public static void main(String[] args) throws FileNotFoundException {
-    	if(args[0].equals("-text")) {
-    		WordleTextView textView = new WordleTextView();
+    public static void main(String[] args) throws IOException {
+    	// the dictionary loads while the UI starts, only the first guess waits for it
+    	StartupTimer.mainStarted();
+    	DictionaryRegistry.loadInBackground();
+    	if(args.length > 0 && args[0].equals("-text")) {
+    		WordleTextView textView = new WordleTextView(Arrays.asList(args).contains("-hard"));
     	}
-    	else if(args[0].equals("-gui")) {
+    	else if(args.length > 0 && args[0].equals("-server")) {
+    		WordleServer.main(Arrays.copyOfRange(args, 1, args.length));
+    	}
+    	else if(args.length > 0 && args[0].equals("-gui")) {
     		Application.launch(WordleGUIView.class, args);
     	}
     	else{
@@ -15,11 +15,11 @@ package view;
  * 
  */
 //imports 
-import java.util.Observable;
 import javafx.animation.FadeTransition;
 import javafx.animation.FillTransition;
 import javafx.animation.TranslateTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -42,23 +42,24 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import java.util.Observable;
 import controller.WordleController;
-import model.WordleModel;
-import utilities.Guess;
+import model.DictionaryRegistry;
+import event.GameEvent;
+import event.GameEventListener;
+import event.GuessEvaluated;
 import utilities.INDEX_RESULT;
-import exception.invalidGuessException;
 import java.io.FileNotFoundException;
+import java.util.concurrent.CompletionException;
 
 
 
 //extends application of java fx
 /**
  * This class of the GUI view class. This class implements the 
- * interface Observer and therefore we need to implement the update method 
+ * interface GameEventListener and therefore we need to implement the onEvent method 
  * for updating the display graphics after every move.
  */
-public class WordleGUIView extends Application implements java.util.Observer  {
+public class WordleGUIView extends Application implements GameEventListener  {
 	private Label[][] progressArray= new Label[6][5];
 	private Label[] characterArray = new Label[26];
 	GridPane progressGrid = new GridPane();
@@ -70,8 +71,12 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	
 	private String curGuessString = "";
 	private int guessNumber = 0;
+	private boolean guessInFlight = false;
+	// each prefix of the current guess, see WordleController.extendPrefix
+	private final WordleController.Prefix[] prefixes = new WordleController.Prefix[WORD_LENGTH + 1];
 	/* Constants for the scene */
 	private static final int SCENE_SIZE = 800;
+	private static final String HARD_MODE_OPTION = "-hard";
 
 	/* Constants for grid of letters */
 	private static final int GRID_GAP = 10;
@@ -83,6 +88,8 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	private static final int LETTER_SQUARE_SIZE = 90;
 	private static final int LETTER_BORDER_WIDTH = 2;
 	private static final String FONT_NAME = "TIMES NEW ROMAN";
+	private static final Font LETTER_FONT = new Font(FONT_NAME, LETTER_FONT_SIZE);
+	private static final Font SMALL_FONT = new Font(FONT_NAME, SMALL_FONT_SIZE);
 	private static final String TITLE = "WORDLE";
 	private static javafx.scene.layout.Border BORDER = new javafx.scene.layout.Border(
             new BorderStroke(
@@ -100,6 +107,9 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	
 	private static final Background EMPTY = new Background(new BackgroundFill(
             Color.GREY, new CornerRadii(0), null)); //white
+	
+	private static final Background DEAD_PREFIX = new Background(new BackgroundFill(
+            Color.color(1, 0.6, 0.6, 1d), new CornerRadii(0), null)); //light red
 	private static final Color TEXT_COLOR = Color.web("Black",1);
 	private static final int MAX_GUESSES = 6;
 	private static final int WORD_LENGTH = 5;
@@ -124,57 +134,57 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 		progressGrid.setPadding(new Insets(25,25,25,25));
 		letterGrid.setPadding(new Insets(25,25,25,25));
 		controller = new WordleController();
-		controller.addObserver(this);
+		controller.addListener(this);
+		prefixes[0] = controller.startPrefix();
+		controller.setHardMode(getParameters().getRaw().contains(HARD_MODE_OPTION));
+		controller.trackStatistics();
 		//lambda function used for event handling
 		scene.setOnKeyReleased((KeyEvent ke) -> handleKey(ke));
 		drawEmptyProgressArray();
 		drawEmptyCharacterArray();
 		stage.setScene(scene);
 	    stage.show();   
+	    StartupTimer.uiReady("window", DictionaryRegistry.loadInBackground());
 	}
 	
 	/**
 	 * This method updates the window after an event of the game
-	 * so that the latest view is displayed. It gets the data of what to update
-	 * from the data structures of the model which holds the data.
-	 * Then at every update, I updated the graphics display to match the
-	 * situation of the game by accessing my label objects kept in arrays.
-	 * @param Obsevable o - the observable (model) object
+	 * so that the latest view is displayed. The event holds what changed:
+	 * the guessed row and the letters whose keyboard result changed, and
+	 * only those cells of my label objects kept in arrays are restyled.
+	 * The labels themselves are made once in start, so the number of nodes
+	 * in the scene stays the same for the whole game.
+	 * @param event the event published by the model
 	 */
 	@Override
-	public void update(Observable o, Object arg) {
-		WordleModel model = (WordleModel) o;
-		INDEX_RESULT[] guessedCharacters = model.getGuessedCharacters();
-		Guess[] progresss = model.getProgress();
-		updateProgressArray(progresss);
-		updateCharacterArray(guessedCharacters);
-		drawProgressArray();
-		drawCharacterArray();								
+	public void onEvent(GameEvent event) {
+		if (!(event instanceof GuessEvaluated)) {
+			return;
+		}
+		GuessEvaluated guess = (GuessEvaluated) event;
+		// guesses are evaluated on the controller's threads, the labels may
+		// only be touched on the FX thread.
+		if (Platform.isFxApplicationThread()) {
+			updateProgressRow(guess);
+			updateCharacterArray(guess);
+		}
+		else {
+			Platform.runLater(() -> {
+				updateProgressRow(guess);
+				updateCharacterArray(guess);
+			});
+		}
 	}
 	/**
-	 * This method updates the array of characters by their index results 
-	 * according to the guess made by the user 
-	 * @param guessedCharacters the array of characters by their index results 
+	 * This method updates the keyboard cells of the letters whose result
+	 * changed with the guess made by the user 
+	 * @param guess the event of the evaluated guess
 	 */
-	private void updateCharacterArray(INDEX_RESULT[] guessedCharacters) {
+	private void updateCharacterArray(GuessEvaluated guess) {
+		int changedLetters = guess.getChangedLetters();
 		for (int i = 0; i < 26; i++) {
-			if (guessedCharacters[i]!= null) {
-				if (guessedCharacters[i].getDescription().equals("Correct")) {
-					Label labelObj = labelCreatorForLetterGrid("correct", Character.toString((char)(i+65)));
-					characterArray[i]= labelObj;
-				}
-				else if (guessedCharacters[i].getDescription().equals("Correct letter, wrong index")) {
-					Label labelObj = labelCreatorForLetterGrid("incorrectIndex", Character.toString((char)(i+65)));
-					characterArray[i]= labelObj;
-				}
-				else{
-					Label labelObj = labelCreatorForLetterGrid("incorrect", Character.toString((char)(i+65)));
-					characterArray[i]= labelObj;
-				}
-			}
-			else {
-				Label labelObj = labelCreatorForLetterGrid("unguessed", Character.toString((char)(i+65)));
-				characterArray[i]= labelObj;
+			if ((changedLetters & (1 << i)) != 0) {
+				setCell(characterArray[i], Character.toString((char)(i+65)), backgroundFor(guess.getLetterResult(i)));
 			}
 		}
 	}
@@ -188,51 +198,20 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	 * @param ke a keyevent obj which is basically the key of the keyboard
 	 */
 	public void handleKey(KeyEvent ke) {
-			if (!controller.isGameOver()) {
+			if (!guessInFlight && !controller.isGameOver()) {
 	        if (ke.getCode().equals(KeyCode.DELETE) || ke.getCode().equals(KeyCode.BACK_SPACE)) {
 	            if (posX>0){
 	            	posX-=1;
 	            	curGuessString = curGuessString.substring(0,posX);	                
-	                Label labelObj = labelCreator("backspace", " ");
-	                progressGrid.add(labelObj, posX, posY);	
+	                setCell(progressArray[posY][posX], " ", EMPTY);	
 	            }
 	        }	        
-	        else if(ke.getCode().equals(KeyCode.ENTER) && (posX==5)) {	        	
-	        	try {
-					controller.makeGuess(curGuessString);
-					guessNumber+=1;
-					posY += 1;
-					curGuessString = "";
-					posX=0;
-				} catch (invalidGuessException e) {
-					Alert alert = new Alert(AlertType.ERROR);
-	    			alert.setHeaderText(e.getMessage() + "! \nClick OK to continue");
-	    			alert.setTitle("Input Valid Guess! ");
-	    			alert.showAndWait();
-					System.out.println(e.getMessage());
-				}
-	        	if (controller.isGameOver()) {
-	        		FadeTransition fadeTrans = new FadeTransition(Duration.seconds(1), vbox);
-	    			fadeTrans.setFromValue(2.0);
-	    			fadeTrans.setToValue(.30);	   
-	    			fadeTrans.setCycleCount(8);	    	       
-	    			fadeTrans.setAutoReverse(true);
-	    	        // Play the Animation
-	    			fadeTrans.play();
-	        		Alert alert = new Alert(AlertType.INFORMATION);
-	    			alert.setHeaderText("Good Game! The word was " + controller.getAnswer());
-	    			alert.setTitle("Game Over");
-	    			alert.showAndWait();
-	    			FadeTransition fadeTrans2 = new FadeTransition(Duration.seconds(1), vbox);
-	    			fadeTrans2.setFromValue(2.0);
-	    			fadeTrans2.setToValue(.30);
-	    	        // Let the animation run forever
-	    			fadeTrans2.setCycleCount(FadeTransition.INDEFINITE);
-	    	        // Reverse direction on alternating cycles
-	    			fadeTrans2.setAutoReverse(true);
-	    	        // Play the Animation
-	    			fadeTrans2.play();
-	        	}
+	        else if(ke.getCode().equals(KeyCode.ENTER) && (posX==5)) {
+	        	// the guess is made off the FX thread, keys are ignored until
+	        	// it is done so that a double ENTER can not guess twice.
+	        	guessInFlight = true;
+	        	controller.submitGuess(curGuessString).whenComplete((guess, error) -> 
+	        			Platform.runLater(() -> finishGuess(error)));
 	        }
 	        else {
 	        	String inputForTest = ke.getCode().getName();
@@ -240,8 +219,10 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	        	int asciNum = (int) c;
 	        	if(posX<5 && posY<6 && (( asciNum>= 65 && asciNum <= 90) || (asciNum>= 97 && asciNum <= 122)))  {
 	        		String input = ke.getCode().getName();
-	            	Label labelObj = labelCreator("", input);
-	            	progressGrid.add(labelObj, posX, posY);
+	        		// the cell turns red as soon as no valid word starts with the letters typed
+	        		prefixes[posX + 1] = controller.extendPrefix(prefixes[posX], c);
+	            	setCell(progressArray[posY][posX], input, 
+	            			prefixes[posX + 1].isDead() ? DEAD_PREFIX : EMPTY);
 	            	curGuessString+=input;
 	            	posX+=1;
 	        	}
@@ -250,178 +231,126 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	       
 	}
 	
-	
 	/**
-	 * this method updates the progress array according to data and creates
-	 * corresponding label objects for showing it to the user in the graphical view
-	 * @param progress a an array of guesses containing the individual result
+	 * This method is called on the FX thread when a submitted guess is done.
+	 * It moves to the next row, or shows why the guess was invalid, and 
+	 * shows the end of the game.
+	 * @param error null if the guess was made, or why it failed.
 	 */
-	private void updateProgressArray(Guess[] progress) {
-		for(int i = 0; i < MAX_GUESSES; i++ ) {
-			if (progress[i]!= null) {
-				for (int j = 0; j < WORD_LENGTH; j++) {
-					if (progress[i].getIndices()[j].getDescription().equals("Correct")) {
-						Label labelObj = labelCreator("correct", ""+ progress[i].getGuess().charAt(j));	
-						progressArray[i][j] = labelObj;
-					}
-					else if (progress[i].getIndices()[j].getDescription().equals("Correct letter, wrong index")) {
-						Label labelObj = labelCreator("incorrectIndex", ""+ progress[i].getGuess().charAt(j));	
-						progressArray[i][j] = labelObj;	
-					}
-					else if (progress[i].getIndices()[j].getDescription().equals("Incorrect")){
-						Label labelObj = labelCreator("incorrect", ""+ progress[i].getGuess().charAt(j));	
-						progressArray[i][j] = labelObj;		
-					}
-				}
-			}
-			else {
-				for(int counter = 0; counter < 5; counter +=1) {
-					progressArray[i][counter] = labelCreator("backspace", " ");
-				}
-			}
+	private void finishGuess(Throwable error) {
+		guessInFlight = false;
+		if (error == null) {
+			guessNumber+=1;
+			posY += 1;
+			curGuessString = "";
+			posX=0;
+			prefixes[0] = controller.startPrefix();
+		}
+		else {
+			Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+			Alert alert = new Alert(AlertType.ERROR);
+			alert.setHeaderText(cause.getMessage() + "! \nClick OK to continue");
+			alert.setTitle("Input Valid Guess! ");
+			alert.showAndWait();
+			System.out.println(cause.getMessage());
+		}
+		if (controller.isGameOver()) {
+			showGameOver();
 		}
 	}
+	
 	/**
-	 * This method updates the drawing/ display of the graphics in the 
-	 * windows according to current game state by getting info from the label 
-	 * objects for the upper game board as in the game progress.
+	 * This method fades the board and tells the user the answer.
 	 */
-	private void drawProgressArray() {
-		for (int i = 0;i<6;i++) {
-			for (int j = 0; j<5; j++) {
-				Label labelObj = progressArray[i][j];
-				progressGrid.add(labelObj, j, i);//opposite pos of i, j for gui
-			}
-		}	
+	private void showGameOver() {
+		FadeTransition fadeTrans = new FadeTransition(Duration.seconds(1), vbox);
+		fadeTrans.setFromValue(2.0);
+		fadeTrans.setToValue(.30);	   
+		fadeTrans.setCycleCount(8);	    	       
+		fadeTrans.setAutoReverse(true);
+        // Play the Animation
+		fadeTrans.play();
+		Alert alert = new Alert(AlertType.INFORMATION);
+		alert.setHeaderText("Good Game! The word was " + controller.getAnswer());
+		if (controller.getStatistics() != null) {
+			alert.setContentText(controller.getStatistics().toString());
+		}
+		alert.setTitle("Game Over");
+		alert.showAndWait();
+		FadeTransition fadeTrans2 = new FadeTransition(Duration.seconds(1), vbox);
+		fadeTrans2.setFromValue(2.0);
+		fadeTrans2.setToValue(.30);
+        // Let the animation run forever
+		fadeTrans2.setCycleCount(FadeTransition.INDEFINITE);
+        // Reverse direction on alternating cycles
+		fadeTrans2.setAutoReverse(true);
+        // Play the Animation
+		fadeTrans2.play();
 	}
+	
+	
 	/**
-	 * This method creates a label object for the game progress according to one of the possible conditions 
-	 * passed in as parameters . The color and appearance and the text varies according to that.
-	 * @param labelType: A string which specifies if a label is correct, incorrect, correct letter wrong index
-	 * of unguessed
-	 * @param alphabet the letter
-	 * @return a newly created label object
+	 * this method updates the row of the progress array of a guess and 
+	 * colors each of its cells by the result of that letter
+	 * @param guess the event of the evaluated guess
 	 */
-	private Label labelCreator(String labelType, String letter) {
-		Label labelObj = new Label();
-		if (labelType.equals("correct")){
-			labelObj.setText(letter);
-			labelObj.setFont(new Font(FONT_NAME, LETTER_FONT_SIZE));
-			labelObj.setBackground(CORRECT);
-			labelObj.setPrefWidth(LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
-		}
-		else if (labelType.equals("incorrect")){
-			labelObj.setText(letter);
-			labelObj.setFont(new Font(FONT_NAME, LETTER_FONT_SIZE));
-			labelObj.setBackground(INCORRECT);
-			labelObj.setPrefWidth(LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
+	private void updateProgressRow(GuessEvaluated guess) {
+		int row = guess.getGuessNumber();
+		String letters = guess.getGuess();
+		for (int j = 0; j < WORD_LENGTH; j++) {
+			setCell(progressArray[row][j], letters.substring(j, j + 1), backgroundFor(guess.getResultAt(j)));
 		}
-		
-		else if (labelType.equals("incorrectIndex")){
-			labelObj.setText(letter);
-			labelObj.setFont(new Font(FONT_NAME, LETTER_FONT_SIZE));
-			labelObj.setBackground(INCORRECT_INDEX);
-			labelObj.setPrefWidth(LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
-		}
-		else if (labelType.equals("backspace")){
-			labelObj.setText(" ");
-			labelObj.setFont(new Font(FONT_NAME, LETTER_FONT_SIZE));
-			labelObj.setBackground(EMPTY);
-			labelObj.setPrefWidth(LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
+	}
+	/**
+	 * This method changes the text and the color of a cell, touching the 
+	 * label only for what differs from what it shows now.
+	 * @param cell the label of the cell
+	 * @param text the text it should show
+	 * @param background the background it should have
+	 */
+	private static void setCell(Label cell, String text, Background background) {
+		if (!text.equals(cell.getText())) {
+			cell.setText(text);
 		}
-		else {
-			//System.out.println("went into else of label creator");
-			labelObj.setText(letter);
-			labelObj.setFont(new Font(FONT_NAME, LETTER_FONT_SIZE));
-			labelObj.setBackground(EMPTY);
-			labelObj.setPrefWidth(LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
+		if (cell.getBackground() != background) {
+			cell.setBackground(background);
 		}
-		
-		return labelObj;
 	}
-	
 	/**
-	 * This method creates a label object for the letter grid according to one of the possible conditions 
-	 * passed in as parameters . The color and appearance and the text varies according to that.
-	 * @param labelType: A strig which specifies if a label is correct, incorrect, correct letter wrong index
-	 * of unguessed
-	 * @param alphabet the letter
-	 * @return a newly created label object
+	 * This method returns the background of a cell for the result of its letter
+	 * @param result the result, null for a letter not guessed yet
+	 * @return one of the background constants.
 	 */
-	private Label labelCreatorForLetterGrid(String labelType, String alphabet) {
-		Label labelObj = new Label();
-		if (labelType.equals("correct")){
-			labelObj.setText(alphabet);
-			labelObj.setFont(new Font(FONT_NAME, SMALL_FONT_SIZE));
-			labelObj.setBackground(CORRECT);
-			labelObj.setPrefWidth(SMALL_LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
+	private static Background backgroundFor(INDEX_RESULT result) {
+		if (result == INDEX_RESULT.CORRECT) {
+			return CORRECT;
 		}
-		else if (labelType.equals("incorrect")){
-			labelObj.setText(alphabet);
-			labelObj.setFont(new Font(FONT_NAME, SMALL_FONT_SIZE));
-			labelObj.setBackground(INCORRECT);
-			labelObj.setPrefWidth(SMALL_LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
+		if (result == INDEX_RESULT.CORRECT_WRONG_INDEX) {
+			return INCORRECT_INDEX;
 		}
-		
-		else if (labelType.equals("incorrectIndex")){
-			labelObj.setText(alphabet);
-			labelObj.setFont(new Font(FONT_NAME, SMALL_FONT_SIZE));
-			labelObj.setBackground(INCORRECT_INDEX);
-			labelObj.setPrefWidth(SMALL_LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
+		if (result == INDEX_RESULT.INCORRECT) {
+			return INCORRECT;
 		}
-		else {
-			labelObj.setText(alphabet);
-			labelObj.setFont(new Font(FONT_NAME, SMALL_FONT_SIZE));
-			labelObj.setBackground(EMPTY);
-			labelObj.setPrefWidth(SMALL_LETTER_SQUARE_SIZE);
-			labelObj.setAlignment(Pos.CENTER);
-			labelObj.setTextFill(TEXT_COLOR);
-			labelObj.setBorder(BORDER);
-		}
-		
-		return labelObj;
+		return EMPTY;
 	}
 	/**
-	 * This method updates the drawing/ display of the graphics in the 
-	 * windows according to current game state by getting info from the label 
-	 * objects for the lower keyboard as in the game progress.
+	 * This method creates a label object for a cell. It is only called when
+	 * the window is first drawn, later changes restyle the same label.
+	 * @param letter the text of the cell
+	 * @param font the font of the cell
+	 * @param width the width of the cell
+	 * @return a newly created label object
 	 */
-	private void drawCharacterArray() {
-		int  counter = 0;
-		for (int i = 0;i<3;i++) {
-			for (int j = 0; j<9; j++) {
-				if (counter==26) {
-					break;
-				}
-				Label labelObj = characterArray[counter];
-				counter +=1;
-				letterGrid.add(labelObj, j, i);//opposite pos of i, j for gui
-			}	
-		}
+	private static Label labelCreator(String letter, Font font, int width) {
+		Label labelObj = new Label();
+		labelObj.setText(letter);
+		labelObj.setFont(font);
+		labelObj.setBackground(EMPTY);
+		labelObj.setPrefWidth(width);
+		labelObj.setAlignment(Pos.CENTER);
+		labelObj.setTextFill(TEXT_COLOR);
+		labelObj.setBorder(BORDER);
+		return labelObj;
 	}
 	/**
 	 * This method draws the drawing/ display of the graphics in the 
@@ -430,7 +359,7 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 	private void drawEmptyProgressArray() {
 		for (int i = 0;i<6;i++) {
 			for (int j = 0; j<5; j++) {
-				Label labelObj = labelCreator("backspace"," ");
+				Label labelObj = labelCreator(" ", LETTER_FONT, LETTER_SQUARE_SIZE);
 				progressArray[i][j]=labelObj;
 				
 				progressGrid.add(labelObj, j, i);//opposite pos of i, j for gui
@@ -450,7 +379,7 @@ public class WordleGUIView extends Application implements java.util.Observer  {
 				}
 				String letter = Character.toString(counter+65);
 				
-				Label labelObj = labelCreatorForLetterGrid("unguessed", letter);
+				Label labelObj = labelCreator(letter, SMALL_FONT, SMALL_LETTER_SQUARE_SIZE);
 				characterArray[counter]=labelObj;
 				counter +=1;
 				letterGrid.add(labelObj, j, i);//opposite pos of i, j for gui
@@ -19,37 +19,55 @@
 
 //imports
 package view;
-import java.util.Observable;
 import controller.WordleController;
-import model.WordleModel;
+import event.GameEvent;
+import event.GameEventListener;
+import event.GuessEvaluated;
 import utilities.Guess;
 import utilities.INDEX_RESULT;
 import exception.invalidGuessException;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import model.DictionaryRegistry;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Scanner;
-@SuppressWarnings("deprecation")
 
-//implements the observer interface where we update the view after 
+//implements the listener interface where we update the view after 
 //every change in the game.
 
-public class WordleTextView implements java.util.Observer {
+public class WordleTextView implements GameEventListener {
 	private WordleController controller;
 	private String userGuess;
-	private static final int MAX_GUESSES = 6;
-	private static final int WORD_LENGTH = 5;
+	private final TextRenderer renderer = new TextRenderer();
+	private final WritableByteChannel console = Channels.newChannel(System.out);
 
 	/**
 	 * The constructor runs the main logic of the game by calling methods from 
 	 * the controller and catches exceptions caused by wrong inputs.
 	 */
 	public WordleTextView() {
+		this(false);
+	}
+	/**
+	 * The constructor runs the main logic of the game like the one above, 
+	 * in hard mode if asked to.
+	 * @param hardMode true to play every game in hard mode
+	 */
+	public WordleTextView(boolean hardMode) {
 		Scanner userInputObj = new Scanner(System.in);
 		String decision = "yes";
+		boolean trackStatistics = true;
+		StartupTimer.uiReady("first prompt", DictionaryRegistry.loadInBackground());
 		//loop used in case the user wants to play again
 		while (playAgain(decision)) {
 			controller = new WordleController();
-			controller.addObserver(this);
+			controller.addListener(this);
+			controller.setHardMode(hardMode);
+			// the first game that cannot open them says so, later ones
+			// do not try again
+			if (trackStatistics) {
+				trackStatistics = controller.trackStatistics();
+			}
 			// this loop runs until a single game is over
 			while(!controller.isGameOver()) {
 				System.out.println("Enter a guess: ");
@@ -63,6 +81,9 @@ public class WordleTextView implements java.util.Observer {
 				}
 				if (controller.isGameOver()) {
 					System.out.println("Good game! The word was " + controller.getAnswer());
+					if (controller.getStatistics() != null) {
+						System.out.println(controller.getStatistics());
+					}
 					System.out.println("Would you like to play again? yes/no");
 					decision = userInputObj.nextLine();
 					playAgain (decision);		
@@ -71,108 +92,53 @@ public class WordleTextView implements java.util.Observer {
 		}	
 	}
 	/**
-	 * This method This method is called whenever the observed object is changed.
-	 * It is overridden in this view. It helps us get the data from the data structures from 
-	 * the model and we can update the view according to that.
-	 * @param Obsevable o - the observable (model) object
+	 * This method is called whenever the model publishes an event.
+	 * It is overridden in this view. After a guess is evaluated it gets the data 
+	 * from the data structures of the model through the controller and we can 
+	 * update the view according to that.
+	 * @param event the event published by the model
 	 */
 	@Override
-	//this method implements the observer
-	public void update(Observable o, Object arg) {
-		WordleModel model = (WordleModel) o;
-		INDEX_RESULT[] guessedCharacters = model.getGuessedCharacters();
-		Guess[] progresss = model.getProgress();
-		//System.out.println(printGuessedCharUpdate(guessedCharacters));
-		//System.out.println(controller.getAnswer());
-		System.out.println(printGameUpdate(progresss, userGuess));
-		System.out.println(printGuessedCharUpdate(guessedCharacters));
+	//this method implements the listener
+	public void onEvent(GameEvent event) {
+		if (!(event instanceof GuessEvaluated)) {
+			return;
+		}
+		INDEX_RESULT[] guessedCharacters = controller.getGuessedCharacters();
+		Guess[] progresss = controller.getProgress();
+		// the renderer reuses one buffer, so printing an update makes no garbage
+		try {
+			renderer.render(progresss, guessedCharacters).flushTo(console);
+		} catch (IOException e) {
+			System.out.println(printGameUpdate(progresss, userGuess));
+			System.out.println(printGuessedCharUpdate(guessedCharacters));
+		}
+		System.out.flush();
 	}
 	/**
 	 * This method prints the game update after the guess is made
 	 * It has been made public for Junit testing coverage which can be changed 
-	 * to private for the practical world.
+	 * to private for the practical world. The console itself is written by a 
+	 * TextRenderer, this returns the same text as a String.
 	 * @param progress an array of guess objects after each guess
 	 * @param guessString a String which is the guess made by user.
 	 * @return a String which is the representation of the game update.
 	 */	
 	public static String printGameUpdate(Guess[] progress, String guessString) {
-		String updateString="";
-		for(int i = 0; i < MAX_GUESSES; i++ ) {
-			if (progress[i]!= null) {
-				for (int j = 0; j < WORD_LENGTH; j++) {
-					if (progress[i].getIndices()[j].getDescription().equals("Correct")) {
-						updateString+= (""+ progress[i].getGuess().charAt(j)).toUpperCase();	
-					}
-					else if (progress[i].getIndices()[j].getDescription().equals("Correct letter, wrong index")) {
-						updateString+= (""+ progress[i].getGuess().charAt(j)).toLowerCase();	
-					}
-					else if (progress[i].getIndices()[j].getDescription().equals("Incorrect")){
-						updateString += "_";	
-					}
-				}
-			}
-			else {
-				updateString+= "_____";		
-			}
-			updateString += "\n";
-		}
-		return updateString;
+		return TextRenderer.boardToString(progress);
 	}
 	/**
 	 * This method prints the guessed characters update after the guess is made
 	 * It has been made public for Junit testing coverage which can be changed 
-	 * to private for the practical world.
+	 * to private for the practical world. The console itself is written by a 
+	 * TextRenderer, this returns the same text as a String.
 	 * @param guessedCharacters an array of Index Result objects which allows us
 	 * to see if a specific letter for a guess is correct, incorrect of correct 
 	 * letter but at wrong index
 	 * @return a String which is the representation of the guessed character update.
 	 */
 	public static String printGuessedCharUpdate(INDEX_RESULT[] guessedCharacters){
-		String outputString = "";
-		ArrayList<String> unguessedChars = new ArrayList<String>();
-		ArrayList<String> correctChars = new ArrayList<String>();
-		ArrayList<String> incorrectChars = new ArrayList<String>();
-		ArrayList<String> correctWrongIndexChars = new ArrayList<String>();
-		for (int i = 0; i < 26; i++) {
-			if (guessedCharacters[i]!= null) {
-				if (guessedCharacters[i].getDescription().equals("Correct")) {
-					correctChars.add(Character.toString((char)(i+65)));
-				}
-				else if (guessedCharacters[i].getDescription().equals("Correct letter, wrong index")) {
-					correctWrongIndexChars.add(Character.toString((char)(i+65)));
-				}
-				else {
-					incorrectChars.add(Character.toString((char)(i+65)));
-				}	
-			}
-			else {
-				unguessedChars.add(Character.toString((char)(i+65)));
-			}
-		}
-		outputString += ("Unguessed [ ");
-		for (String charr: unguessedChars) {
-			outputString += (charr + " ");
-		}
-		outputString += ("]") + "\n";
-		
-		outputString += ("Incorrect [ ");
-		for (String charr:incorrectChars ) {
-			outputString += (charr + " ");
-		}
-		outputString += ("]") + "\n";
-		
-		outputString += ("Correct [ ");
-		for (String charr:correctChars ) {
-			outputString += (charr + " ");
-		}
-		outputString += ("]") + "\n";
-		
-		outputString += ("Correct letter, wrong index [ ");
-		for (String charr: correctWrongIndexChars ) {
-			outputString += (charr + " ");
-		}
-		outputString += ("]") +"\n";
-		return outputString;
+		return TextRenderer.keyboardToString(guessedCharacters);
 	}
 	/**
 	 * This method returns true or false based on if user wishes to 